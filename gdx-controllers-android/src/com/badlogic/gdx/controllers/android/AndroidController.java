@@ -18,34 +18,47 @@ package com.badlogic.gdx.controllers.android;
 
 import android.view.InputDevice;
 import android.view.InputDevice.MotionRange;
+import android.view.KeyEvent;
 import android.view.MotionEvent;
 
+import com.badlogic.gdx.controllers.ButtonFrameState;
 import com.badlogic.gdx.controllers.Controller;
 import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
 import com.badlogic.gdx.controllers.ControllerMapping;
 import com.badlogic.gdx.controllers.ControllerPowerLevel;
+import com.badlogic.gdx.controllers.ControllerState;
+import com.badlogic.gdx.controllers.Controllers;
+import com.badlogic.gdx.controllers.PendingAxes;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
 
 import java.util.ArrayList;
 import java.util.UUID;
 
-public class AndroidController implements Controller {
-	private final int deviceId;
+public class AndroidController implements Controller, ButtonFrameState.Owner, PendingAxes.Owner {
+	private int deviceId;
+	private final String descriptor;
 	private boolean attached;
 	private final String name;
-	protected final IntIntMap buttons = new IntIntMap();
+	// pressed buttons as a bitset indexed by key code, covering every key code Android defines
+	protected final long[] buttons = new long[(Math.max(getMaxButtonIndex(), KeyEvent.getMaxKeyCode()) >>> 6) + 1];
+	protected final ButtonFrameState buttonFrames = new ButtonFrameState(getMaxButtonIndex());
 	protected final float[] axes;
 	protected final int[] axesIds;
+	// axis values not yet seen by the rendering thread, and the ones last queued for it
+	final PendingAxes pendingAxes;
 	protected float povX = 0f;
 	protected float povY = 0f;
 	private boolean povAxis;
 	protected float lTrigger = 0f;
 	protected float rTrigger = 0f;
 	private boolean triggerAxis;
-	private final Array<ControllerListener> listeners = new Array<ControllerListener>();
+	private final ControllerListenerRegistry listeners = new ControllerListenerRegistry();
 	private String uuid;
 	public boolean connected;
+	long lastInputNanos = -1;
 
 	public AndroidController(int deviceId, String name) {
 		this.deviceId = deviceId;
@@ -54,6 +67,7 @@ public class AndroidController implements Controller {
 		this.connected = true;
 
 		InputDevice device = InputDevice.getDevice(deviceId);
+		descriptor = device.getDescriptor();
 		ArrayList<Integer> axesIDList = new ArrayList<>();
 		for (MotionRange range : device.getMotionRanges()) {
 			if ((range.getSource() & InputDevice.SOURCE_CLASS_JOYSTICK) != 0) {
@@ -93,6 +107,7 @@ public class AndroidController implements Controller {
 
 		axesIds = new int[axesIDList.size()];
 		axes = new float[axesIDList.size()];
+		pendingAxes = new PendingAxes(axes.length);
 
 		for (int i = 0; i < axesIds.length; i++){
 			axesIds[i] = axesIDList.get(i);
@@ -119,7 +134,47 @@ public class AndroidController implements Controller {
 	public int getDeviceId () {
 		return deviceId;
 	}
+
+	/** @return the descriptor of the input device, which identifies the physical device across reconnects */
+	public String getDescriptor () {
+		return descriptor;
+	}
+
+	/** Pairs this disconnected controller with the device id its physical device got on reconnecting, called on the UI
+	 * thread */
+	void reconnect (int deviceId) {
+		this.deviceId = deviceId;
+		clearInputThreadState();
+		this.connected = true;
+	}
+
+	/** Centers the d-pad, the triggers and the axes last queued. These values are owned by the UI thread, which derives events
+	 * from them, so this is called there when the device is removed or reconnects */
+	void clearInputThreadState () {
+		povX = 0;
+		povY = 0;
+		lTrigger = 0;
+		rTrigger = 0;
+		pendingAxes.clearQueuedValues();
+	}
+
+	/** Releases all buttons and centers all axes without notifying listeners, called on the render thread on disconnect. Only
+	 * touches the state owned by the render thread, see {@link #clearInputThreadState()} */
+	void clearState () {
+		for (int i = 0; i < buttons.length; i++) {
+			buttons[i] = 0;
+		}
+		buttonFrames.clear();
+		for (int i = 0; i < axes.length; i++) {
+			axes[i] = 0;
+		}
+	}
 	
+	@Override
+	public PendingAxes getPendingAxes () {
+		return pendingAxes;
+	}
+
 	@Override
 	public void addListener (ControllerListener listener) {
 		this.listeners.add(listener);
@@ -127,16 +182,52 @@ public class AndroidController implements Controller {
 
 	@Override
 	public void removeListener (ControllerListener listener) {
-		this.listeners.removeValue(listener, true);
+		this.listeners.remove(listener);
 	}
 	
 	public Array<ControllerListener> getListeners() {
+		return this.listeners.getListeners();
+	}
+
+	public ControllerListenerRegistry getListenerRegistry() {
 		return this.listeners;
 	}
 
+	@Override
+	public long getInputAgeNanos () {
+		return lastInputNanos < 0 ? -1 : TimeUtils.nanoTime() - lastInputNanos;
+	}
+
+	/** Records a button change, called on the render thread when the event is dispatched */
+	void setButton (int buttonIndex, boolean pressed) {
+		int word = buttonIndex >>> 6;
+		if (buttonIndex < 0 || word >= buttons.length) return;
+		if (pressed)
+			buttons[word] |= 1L << (buttonIndex & 63);
+		else
+			buttons[word] &= ~(1L << (buttonIndex & 63));
+	}
+
 	@Override
 	public boolean getButton (int buttonIndex) {
-		return buttons.containsKey(buttonIndex);
+		int word = buttonIndex >>> 6;
+		return buttonIndex >= 0 && word < buttons.length && (buttons[word] & (1L << (buttonIndex & 63))) != 0;
+	}
+
+	/** Fills the array with the key codes of all pressed buttons, in ascending order, instead of asking for every button
+	 * code with {@link #getButton(int)}.
+	 * @param out cleared before it is filled
+	 * @return out, for chaining */
+	public IntArray getPressedButtons (IntArray out) {
+		out.clear();
+		for (int word = 0; word < buttons.length; word++) {
+			long bits = buttons[word];
+			while (bits != 0) {
+				out.add((word << 6) + Long.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+		return out;
 	}
 
 	@Override
@@ -145,6 +236,38 @@ public class AndroidController implements Controller {
 		return axes[axisIndex];
 	}
 
+	@Override
+	public ButtonFrameState getButtonFrames () {
+		return buttonFrames;
+	}
+
+	/** @see Controllers#isButtonJustPressed(Controller, int) */
+	public boolean isButtonJustPressed (int buttonIndex) {
+		return buttonFrames.isButtonJustPressed(buttonIndex);
+	}
+
+	/** @see Controllers#isButtonJustReleased(Controller, int) */
+	public boolean isButtonJustReleased (int buttonIndex) {
+		return buttonFrames.isButtonJustReleased(buttonIndex);
+	}
+
+	/** @see Controllers#anyButtonJustPressed(Controller) */
+	public boolean anyButtonJustPressed () {
+		return buttonFrames.anyButtonJustPressed();
+	}
+
+	@Override
+	public ControllerState getState (ControllerState out) {
+		out.reset(getMaxButtonIndex(), axes.length);
+		for (int word = 0; word < buttons.length; word++) {
+			out.setButtonBits(word, buttons[word]);
+		}
+		for (int i = 0; i < axes.length; i++) {
+			out.setAxis(i, axes[i]);
+		}
+		return out;
+	}
+
 	@Override
 	public String getName () {
 		return name;
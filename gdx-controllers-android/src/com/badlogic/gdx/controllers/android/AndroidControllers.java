@@ -25,27 +25,40 @@ import android.view.View.OnKeyListener;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.backends.android.AndroidApplicationBase;
 import com.badlogic.gdx.backends.android.AndroidInput;
 import com.badlogic.gdx.controllers.AbstractControllerManager;
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerEventHandoff;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
 import com.badlogic.gdx.controllers.ControllerListener;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
+import com.badlogic.gdx.controllers.Controllers;
+import com.badlogic.gdx.controllers.TimedControllerListener;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.IntMap.Entry;
-import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
 
 public class AndroidControllers extends AbstractControllerManager implements LifecycleListener, OnKeyListener, OnGenericMotionListener {
 	private final static String TAG = "AndroidControllers";
 	public static boolean ignoreNoGamepadButtons = true;
 	public static boolean useNewAxisLogic = true;
+	/** the capacity of the event queue between the UI and the rendering thread, set before the manager is created. A quarter
+	 * of it is reserved for button and connection events, see {@link ControllerEventHandoff} **/
+	public static int eventQueueCapacity = 1024;
+	/** Android batches joystick samples into one motion event per frame. If true, an axis event is reported for every batched
+	 * sample, with the time it was captured, instead of only the latest value. This reports sticks at the sample rate of the
+	 * device, at the cost of more events per frame. Otherwise, and while the event queue is nearly full, axis events are
+	 * coalesced while the rendering thread hasn't received them yet, so it only gets the latest value of each axis. **/
+	public static boolean processHistoricalSamples = false;
+	private final ControllerListenerRegistry inputThreadListeners = new ControllerListenerRegistry();
 	private final IntMap<AndroidController> controllerMap = new IntMap<AndroidController>();
-	private final Array<ControllerListener> listeners = new Array<ControllerListener>();
-	private final Array<AndroidControllerEvent> eventQueue = new Array<AndroidControllerEvent>();
-	private final Pool<AndroidControllerEvent> eventPool = new Pool<AndroidControllerEvent>() {
-		@Override
-		protected AndroidControllerEvent newObject () {
-			return new AndroidControllerEvent();
-		}
-	};
+	// disconnected controllers by input device descriptor, reused if their device reconnects
+	private final ObjectMap<String, AndroidController> disconnectedControllers = new ObjectMap<String, AndroidController>();
+	// filled by the UI thread and drained by the rendering thread
+	private final ControllerEventHandoff eventHandoff = new ControllerEventHandoff(eventQueueCapacity);
+	private final TimedControllerListener dispatcher = new Dispatcher();
 
 	public AndroidControllers() {
 		listeners.add(new ManageCurrentControllerListener());
@@ -71,57 +84,14 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 			@SuppressWarnings("synthetic-access")
 			@Override
 			public void run () {
-				synchronized(eventQueue) {
-					for(AndroidControllerEvent event: eventQueue) {
-						switch(event.type) {
-							case AndroidControllerEvent.CONNECTED:
-								controllers.add(event.controller);
-								for(ControllerListener listener: listeners) {
-									listener.connected(event.controller);
-								}
-								break;
-							case AndroidControllerEvent.DISCONNECTED:
-								controllers.removeValue(event.controller, true);
-								for(ControllerListener listener: listeners) {
-									listener.disconnected(event.controller);
-								}
-								for(ControllerListener listener: event.controller.getListeners()) {
-									listener.disconnected(event.controller);
-								}
-								break;
-							case AndroidControllerEvent.BUTTON_DOWN:
-								event.controller.buttons.put(event.code, event.code);
-								for(ControllerListener listener: listeners) {
-									if(listener.buttonDown(event.controller, event.code)) break;
-								}
-								for(ControllerListener listener: event.controller.getListeners()) {
-									if(listener.buttonDown(event.controller, event.code)) break;
-								}
-								break;
-							case AndroidControllerEvent.BUTTON_UP:
-								event.controller.buttons.remove(event.code, 0);
-								for(ControllerListener listener: listeners) {
-									if(listener.buttonUp(event.controller, event.code)) break;
-								}
-								for(ControllerListener listener: event.controller.getListeners()) {
-									if(listener.buttonUp(event.controller, event.code)) break;
-								}
-								break;
-							case AndroidControllerEvent.AXIS:
-								event.controller.axes[event.code] = event.axisValue;
-								for(ControllerListener listener: listeners) {
-									if(listener.axisMoved(event.controller, event.code, event.axisValue)) break;
-								}
-								for(ControllerListener listener: event.controller.getListeners()) {
-									if(listener.axisMoved(event.controller, event.code, event.axisValue)) break;
-								}
-								break;
-							default:
-						}
-					}
-					eventPool.freeAll(eventQueue);
-					eventQueue.clear();
+				long drainStart = metrics.drainStarted();
+				int drained = eventHandoff.drain(dispatcher);
+				metrics.drainFinished(drainStart, drained);
+				metrics.droppedEvents(eventHandoff.getDroppedCount());
+				for (int i = 0; i < controllers.size; i++) {
+					((AndroidController)controllers.get(i)).buttonFrames.nextFrame();
 				}
+				metrics.frameFinished();
 				Gdx.app.postRunnable(this);
 			}
 		}.run();
@@ -132,130 +102,79 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 		if((motionEvent.getSource() & InputDevice.SOURCE_CLASS_JOYSTICK) == 0) return false;
 		AndroidController controller = controllerMap.get(motionEvent.getDeviceId());
 		if(controller != null) {
-			synchronized(eventQueue) {
-				if (controller.hasPovAxis()) {
-					float povX = motionEvent.getAxisValue(MotionEvent.AXIS_HAT_X);
-					float povY = motionEvent.getAxisValue(MotionEvent.AXIS_HAT_Y);
-					// map axis movement to dpad buttons
-					if (povX != controller.povX) {
-						if (controller.povX == 1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_DPAD_RIGHT;
-							eventQueue.add(event);
-						} else if (controller.povX == -1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_DPAD_LEFT;
-							eventQueue.add(event);
-						}
-
-						if (povX == 1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_DPAD_RIGHT;
-							eventQueue.add(event);
-						} else if (povX == -1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_DPAD_LEFT;
-							eventQueue.add(event);
-						}
-						controller.povX = povX;
+			// all events derived from this motion event share its capture time
+			long timeNanos = toNanoTime(motionEvent.getEventTime());
+			if (controller.hasPovAxis()) {
+				float povX = motionEvent.getAxisValue(MotionEvent.AXIS_HAT_X);
+				float povY = motionEvent.getAxisValue(MotionEvent.AXIS_HAT_Y);
+				// map axis movement to dpad buttons
+				if (povX != controller.povX) {
+					if (controller.povX == 1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_DPAD_RIGHT, 0, timeNanos);
+					} else if (controller.povX == -1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_DPAD_LEFT, 0, timeNanos);
 					}
 
-					if (povY != controller.povY) {
-						if (controller.povY == 1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_DPAD_DOWN;
-							eventQueue.add(event);
-						} else if (controller.povY == -1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_DPAD_UP;
-							eventQueue.add(event);
-						}
-
-						if (povY == 1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_DPAD_DOWN;
-							eventQueue.add(event);
-						} else if (povY == -1f) {
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_DPAD_UP;
-							eventQueue.add(event);
-						}
-						controller.povY = povY;
-
+					if (povX == 1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT, 0, timeNanos);
+					} else if (povX == -1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_DPAD_LEFT, 0, timeNanos);
 					}
+					controller.povX = povX;
 				}
 
-				if (controller.hasTriggerAxis()){
-					float lTrigger = motionEvent.getAxisValue(MotionEvent.AXIS_LTRIGGER);
-					float rTrigger = motionEvent.getAxisValue(MotionEvent.AXIS_RTRIGGER);
-					//map axis movement to trigger buttons
-					if (lTrigger != controller.lTrigger){
-						if (lTrigger == 1){
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_BUTTON_L2;
-							eventQueue.add(event);
-						} else if (lTrigger == 0){
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_BUTTON_L2;
-							eventQueue.add(event);
-						}
-						controller.lTrigger = lTrigger;
+				if (povY != controller.povY) {
+					if (controller.povY == 1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_DPAD_DOWN, 0, timeNanos);
+					} else if (controller.povY == -1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_DPAD_UP, 0, timeNanos);
+					}
 
+					if (povY == 1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_DPAD_DOWN, 0, timeNanos);
+					} else if (povY == -1f) {
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_DPAD_UP, 0, timeNanos);
 					}
+					controller.povY = povY;
 
-					if (rTrigger != controller.rTrigger){
-						if (rTrigger == 1){
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_DOWN;
-							event.code = KeyEvent.KEYCODE_BUTTON_R2;
-							eventQueue.add(event);
-						} else if (rTrigger == 0){
-							AndroidControllerEvent event = eventPool.obtain();
-							event.controller = controller;
-							event.type = AndroidControllerEvent.BUTTON_UP;
-							event.code = KeyEvent.KEYCODE_BUTTON_R2;
-							eventQueue.add(event);
-						}
-						controller.rTrigger = rTrigger;
+				}
+			}
 
+			if (controller.hasTriggerAxis()){
+				float lTrigger = motionEvent.getAxisValue(MotionEvent.AXIS_LTRIGGER);
+				float rTrigger = motionEvent.getAxisValue(MotionEvent.AXIS_RTRIGGER);
+				//map axis movement to trigger buttons
+				if (lTrigger != controller.lTrigger){
+					if (lTrigger == 1){
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_BUTTON_L2, 0, timeNanos);
+					} else if (lTrigger == 0){
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_BUTTON_L2, 0, timeNanos);
 					}
+					controller.lTrigger = lTrigger;
+
 				}
 
-				int axisIndex = 0;
-            	for (int axisId: controller.axesIds) {
-					float axisValue = motionEvent.getAxisValue(axisId);
-					if(controller.getAxis(axisIndex) == axisValue) {
-						axisIndex++;
-						continue;
+				if (rTrigger != controller.rTrigger){
+					if (rTrigger == 1){
+						queueEvent(controller, ControllerEventQueue.BUTTON_DOWN, KeyEvent.KEYCODE_BUTTON_R2, 0, timeNanos);
+					} else if (rTrigger == 0){
+						queueEvent(controller, ControllerEventQueue.BUTTON_UP, KeyEvent.KEYCODE_BUTTON_R2, 0, timeNanos);
 					}
-					AndroidControllerEvent event = eventPool.obtain();
-					event.type = AndroidControllerEvent.AXIS;
-					event.controller = controller;
-					event.code = axisIndex;
-					event.axisValue = axisValue;
-					eventQueue.add(event);
-					axisIndex++;
+					controller.rTrigger = rTrigger;
+
+				}
+			}
+
+			int historySize = processHistoricalSamples ? motionEvent.getHistorySize() : 0;
+			// the samples batched since the previous motion event, oldest first, then the current one
+			for (int pos = 0; pos <= historySize; pos++) {
+				long sampleNanos = pos < historySize ? toNanoTime(motionEvent.getHistoricalEventTime(pos)) : timeNanos;
+				for (int axisIndex = 0; axisIndex < controller.axesIds.length; axisIndex++) {
+					float axisValue = getAxisSample(motionEvent, controller.axesIds[axisIndex], pos, historySize);
+					// compared with the value last queued, not the one the rendering thread has seen, so an axis that moves and
+					// returns before the next frame still gets its final value queued. A value that didn't fit is tried again.
+					if(axisValue == controller.pendingAxes.getQueuedValue(axisIndex)) continue;
+					queueEvent(controller, ControllerEventQueue.AXIS_MOVED, axisIndex, axisValue, sampleNanos);
 				}
 			}
 			return true;
@@ -277,23 +196,75 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 			if (controller.hasTriggerAxis() && (keyCode == KeyEvent.KEYCODE_BUTTON_L2 || keyCode == KeyEvent.KEYCODE_BUTTON_R2)){
 				return true;
 			}
-			synchronized(eventQueue) {
-				AndroidControllerEvent event = eventPool.obtain();
-				event.controller = controller;
-				if(keyEvent.getAction() == KeyEvent.ACTION_DOWN) {
-					event.type = AndroidControllerEvent.BUTTON_DOWN;
-				} else {
-					event.type = AndroidControllerEvent.BUTTON_UP;
-				}
-				event.code = keyCode;
-				eventQueue.add(event);
-			}
+			int type = keyEvent.getAction() == KeyEvent.ACTION_DOWN ? ControllerEventQueue.BUTTON_DOWN : ControllerEventQueue.BUTTON_UP;
+			queueEvent(controller, type, keyCode, 0, toNanoTime(keyEvent.getEventTime()));
 			return keyCode != KeyEvent.KEYCODE_BACK || Gdx.input.isCatchKey(keyCode);
 		} else {
 			return false;
 		}
 	}
 	
+	/** Queues the event for the rendering thread, and hands it to the input thread listeners right away
+	 * @return false if the queue was full and the rendering thread won't receive the event */
+	private boolean queueEvent (AndroidController controller, int type, int code, float value, long timeNanos) {
+		boolean queued = type == ControllerEventQueue.AXIS_MOVED
+			? eventHandoff.offerAxis(controller, code, value, timeNanos, !processHistoricalSamples)
+			: eventHandoff.offer(controller, type, code, timeNanos);
+		if (inputThreadListeners.size() == 0) return queued;
+		switch(type) {
+			case ControllerEventQueue.CONNECTED:
+				inputThreadListeners.connected(controller);
+				break;
+			case ControllerEventQueue.DISCONNECTED:
+				inputThreadListeners.disconnected(controller);
+				break;
+			case ControllerEventQueue.BUTTON_DOWN:
+				inputThreadListeners.buttonDown(controller, code, timeNanos);
+				break;
+			case ControllerEventQueue.BUTTON_UP:
+				inputThreadListeners.buttonUp(controller, code, timeNanos);
+				break;
+			case ControllerEventQueue.AXIS_MOVED:
+				inputThreadListeners.axisMoved(controller, code, value, timeNanos);
+				break;
+			default:
+		}
+		return queued;
+	}
+
+	/** Adds a listener that receives the events on the UI thread as soon as Android reports them, instead of on the rendering
+	 * thread with the next frame. This saves up to a frame of latency, but the listener must be thread-safe: it is called
+	 * concurrently with the rendering thread, and the state of the controller passed to it, e.g.
+	 * {@link AndroidController#getButton(int)}, has not been updated yet. Events are still delivered to the regular listeners
+	 * on the rendering thread as well, whatever the input thread listeners return.
+	 * <p>
+	 * Get the manager with {@link Controllers#getManager()}. Like the regular listeners, input thread listeners are removed
+	 * by {@link #clearListeners()} and when the application is disposed. **/
+	public void addInputThreadListener (ControllerListener listener) {
+		inputThreadListeners.add(listener);
+	}
+
+	public void removeInputThreadListener (ControllerListener listener) {
+		inputThreadListeners.remove(listener);
+	}
+
+	@Override
+	public void clearListeners () {
+		super.clearListeners();
+		inputThreadListeners.clear();
+	}
+
+	/** @return the axis value of the historical sample at pos, or the current value if pos is the history size */
+	private static float getAxisSample (MotionEvent motionEvent, int axisId, int pos, int historySize) {
+		return pos < historySize ? motionEvent.getHistoricalAxisValue(axisId, pos) : motionEvent.getAxisValue(axisId);
+	}
+
+	/** Input event times are {@link android.os.SystemClock#uptimeMillis()}, which shares the monotonic clock of
+	 * {@link System#nanoTime()}, so they convert without an offset. */
+	private static long toNanoTime (long eventTimeMillis) {
+		return TimeUtils.millisToNanos(eventTimeMillis);
+	}
+
 	private void gatherControllers(boolean sendEvent) {
 		// gather all joysticks and gamepads, remove any disconnected ones
 		IntMap<AndroidController> removedControllers = new IntMap<AndroidController>();
@@ -318,14 +289,20 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 			InputDevice device = InputDevice.getDevice(deviceId);
 			if (!isController(device)) return;
 			String name = device.getName();
-			AndroidController controller = new AndroidController(deviceId, name);
+			AndroidController controller;
+			synchronized (disconnectedControllers) {
+				// the same physical device has a new device id after reconnecting, but the same descriptor
+				controller = device.getDescriptor() != null ? disconnectedControllers.remove(device.getDescriptor()) : null;
+			}
+			if (controller != null) {
+				controller.reconnect(deviceId);
+			} else {
+				controller = new AndroidController(deviceId, name);
+			}
 			controllerMap.put(deviceId, controller);
 			if (sendEvent) {
-				synchronized (eventQueue) {
-					AndroidControllerEvent event = eventPool.obtain();
-					event.type = AndroidControllerEvent.CONNECTED;
-					event.controller = controller;
-					eventQueue.add(event);
+				if (!queueEvent(controller, ControllerEventQueue.CONNECTED, 0, 0, TimeUtils.nanoTime())) {
+					Gdx.app.error(TAG, "event queue full, dropped connect of controller '" + name + "'");
 				}
 			} else {
 				controllers.add(controller);
@@ -342,12 +319,15 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 	protected void removeController(int deviceId) {
 		AndroidController controller = controllerMap.remove(deviceId);
 		if(controller != null) {
-			synchronized(eventQueue) {
-				AndroidControllerEvent event = eventPool.obtain();
-				controller.connected = false;
-				event.type = AndroidControllerEvent.DISCONNECTED;
-				event.controller = controller;
-				eventQueue.add(event);
+			controller.connected = false;
+			controller.clearInputThreadState();
+			if (!queueEvent(controller, ControllerEventQueue.DISCONNECTED, 0, 0, TimeUtils.nanoTime())) {
+				Gdx.app.error(TAG, "event queue full, dropped disconnect of controller '" + controller.getName() + "'");
+			}
+			if (controller.getDescriptor() != null) {
+				synchronized (disconnectedControllers) {
+					disconnectedControllers.put(controller.getDescriptor(), controller);
+				}
 			}
 			Gdx.app.log(TAG, "removed controller '" + controller.getName() + "'");
 		}
@@ -360,20 +340,6 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 				&& !"uinput-fpc".equals(device.getName());
 	}
 
-	@Override
-	public void addListener (ControllerListener listener) {
-		synchronized(eventQueue) {
-			listeners.add(listener);
-		}
-	}
-
-	@Override
-	public void removeListener (ControllerListener listener) {
-		synchronized(eventQueue) {
-			listeners.removeValue(listener, true);
-		}
-	}
-
 	@Override
 	public void pause () {
 		Gdx.app.log(TAG, "controllers paused");
@@ -381,22 +347,84 @@ public class AndroidControllers extends AbstractControllerManager implements Lif
 
 	@Override
 	public void resume () {
-		gatherControllers(true);
+		// resume is called on the rendering thread, but only the UI thread may add events to the queue
+		((AndroidApplicationBase)Gdx.app).runOnUiThread(new Runnable() {
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public void run () {
+				gatherControllers(true);
+			}
+		});
 		Gdx.app.log(TAG, "controllers resumed");		
 	}
 
-	@Override
-	public void dispose () {
-	}
+	/** Applies the drained events to the controllers and notifies the listeners, on the rendering thread */
+	private class Dispatcher implements TimedControllerListener {
+		@Override
+		public void connected (Controller controller) {
+			controllers.add(controller);
+			listeners.connected(controller);
+		}
 
-	@Override
-	public void clearListeners () {
-		listeners.clear();
-		listeners.add(new ManageCurrentControllerListener());
+		@Override
+		public void disconnected (Controller controller) {
+			AndroidController androidController = (AndroidController)controller;
+			controllers.removeValue(controller, true);
+			androidController.clearState();
+			listeners.disconnected(controller);
+			androidController.getListenerRegistry().disconnected(controller);
+		}
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonCode, long captureNanos) {
+			AndroidController androidController = (AndroidController)controller;
+			androidController.setButton(buttonCode, true);
+			androidController.buttonFrames.setButton(buttonCode, true);
+			androidController.lastInputNanos = captureNanos;
+			listeners.buttonDown(controller, buttonCode, captureNanos);
+			return androidController.getListenerRegistry().buttonDown(controller, buttonCode, captureNanos);
+		}
+
+		@Override
+		public boolean buttonUp (Controller controller, int buttonCode, long captureNanos) {
+			AndroidController androidController = (AndroidController)controller;
+			androidController.setButton(buttonCode, false);
+			androidController.buttonFrames.setButton(buttonCode, false);
+			androidController.lastInputNanos = captureNanos;
+			listeners.buttonUp(controller, buttonCode, captureNanos);
+			return androidController.getListenerRegistry().buttonUp(controller, buttonCode, captureNanos);
+		}
+
+		@Override
+		public boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos) {
+			AndroidController androidController = (AndroidController)controller;
+			// coalesced events may carry the value already delivered
+			if (value == androidController.axes[axisCode]) return false;
+			androidController.axes[axisCode] = value;
+			androidController.lastInputNanos = captureNanos;
+			listeners.axisMoved(controller, axisCode, value, captureNanos);
+			return androidController.getListenerRegistry().axisMoved(controller, axisCode, value, captureNanos);
+		}
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonCode) {
+			return buttonDown(controller, buttonCode, TimeUtils.nanoTime());
+		}
+
+		@Override
+		public boolean buttonUp (Controller controller, int buttonCode) {
+			return buttonUp(controller, buttonCode, TimeUtils.nanoTime());
+		}
+
+		@Override
+		public boolean axisMoved (Controller controller, int axisCode, float value) {
+			return axisMoved(controller, axisCode, value, TimeUtils.nanoTime());
+		}
 	}
 
 	@Override
-	public Array<ControllerListener> getListeners () {
-		return listeners;
+	public void dispose () {
+		// the listeners may reference the activity, which must not outlive the application
+		inputThreadListeners.clear();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
+import com.badlogic.gdx.utils.Array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch to a mix of 20 {@link ControllerAdapter}s of which most only override a few callbacks,
+ * as typical for UI, menu and gameplay listeners registered side by side. Compares the per-event
+ * dispatch arrays of {@link ControllerListenerRegistry} to walking every listener.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterDispatchBenchmark {
+	private static final int LISTENER_COUNT = 20;
+
+	private ControllerListenerRegistry registry;
+	private ControllerListener[] allListeners;
+	private Controller controller;
+	private float axisValue;
+
+	@Setup
+	public void setup () {
+		registry = new ControllerListenerRegistry();
+		Array<ControllerListener> listeners = new Array<>();
+		for (int i = 0; i < LISTENER_COUNT; i++) {
+			ControllerListener listener;
+			switch (i % 5) {
+			case 0:
+				listener = new ConnectionListener();
+				break;
+			case 1:
+				listener = new MenuListener();
+				break;
+			case 2:
+				listener = new ButtonDownListener();
+				break;
+			case 3:
+				listener = new ConnectionListener();
+				break;
+			default:
+				listener = new StickListener();
+				break;
+			}
+			registry.add(listener);
+			listeners.add(listener);
+		}
+		allListeners = listeners.toArray(ControllerListener.class);
+		controller = new BenchmarkController();
+	}
+
+	@Benchmark
+	public boolean registryAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		return registry.axisMoved(controller, 0, axisValue);
+	}
+
+	@Benchmark
+	public boolean registryButtonUp () {
+		return registry.buttonUp(controller, 0);
+	}
+
+	@Benchmark
+	public boolean allListenersAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		ControllerListener[] listeners = allListeners;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			if (listeners[i].axisMoved(controller, 0, axisValue))
+				return true;
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean allListenersButtonUp () {
+		ControllerListener[] listeners = allListeners;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			if (listeners[i].buttonUp(controller, 0))
+				return true;
+		}
+		return false;
+	}
+
+	static class ConnectionListener extends ControllerAdapter {
+		int connections;
+
+		@Override
+		public void connected (Controller controller) {
+			connections++;
+		}
+
+		@Override
+		public void disconnected (Controller controller) {
+			connections--;
+		}
+	}
+
+	static class MenuListener extends ControllerAdapter {
+		int presses;
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonIndex) {
+			presses++;
+			return false;
+		}
+
+		@Override
+		public boolean buttonUp (Controller controller, int buttonIndex) {
+			presses--;
+			return false;
+		}
+	}
+
+	static class ButtonDownListener extends ControllerAdapter {
+		int presses;
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonIndex) {
+			presses++;
+			return false;
+		}
+	}
+
+	static class StickListener extends ControllerAdapter {
+		float value;
+
+		@Override
+		public boolean axisMoved (Controller controller, int axisIndex, float value) {
+			this.value = value;
+			return false;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Minimal headless {@link Application} for benchmarks. It needs no natives and no window: log calls
+ * are dropped and runnables passed to {@link Application#postRunnable(Runnable)} are collected, so
+ * benchmarks can run one frame of the per-frame ticks with {@link #runFrame()}.
+ */
+class BenchmarkApplication implements InvocationHandler {
+	private final Array<Runnable> runnables = new Array<>();
+	private final Array<Runnable> executedRunnables = new Array<>();
+	private final Application application;
+
+	private BenchmarkApplication () {
+		application = (Application)Proxy.newProxyInstance(Application.class.getClassLoader(),
+			new Class[] {Application.class}, this);
+	}
+
+	/** Creates a new application and installs it as {@link Gdx#app} */
+	public static BenchmarkApplication install () {
+		BenchmarkApplication app = new BenchmarkApplication();
+		Gdx.app = app.application;
+		return app;
+	}
+
+	/** Runs all runnables posted since the last call, like the render thread does once per frame */
+	public void runFrame () {
+		synchronized (runnables) {
+			executedRunnables.clear();
+			executedRunnables.addAll(runnables);
+			runnables.clear();
+		}
+		for (int i = 0; i < executedRunnables.size; i++) {
+			executedRunnables.get(i).run();
+		}
+	}
+
+	@Override
+	public Object invoke (Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.equals("getType"))
+			return Application.ApplicationType.HeadlessDesktop;
+		if (name.equals("postRunnable")) {
+			synchronized (runnables) {
+				runnables.add((Runnable)args[0]);
+			}
+			return null;
+		}
+		if (name.equals("hashCode"))
+			return System.identityHashCode(proxy);
+		if (name.equals("equals"))
+			return proxy == args[0];
+		if (name.equals("toString"))
+			return "BenchmarkApplication";
+
+		Class<?> returnType = method.getReturnType();
+		if (returnType == boolean.class)
+			return false;
+		if (returnType == int.class)
+			return 0;
+		if (returnType == long.class)
+			return 0L;
+		if (returnType == float.class)
+			return 0f;
+		return null;
+	}
+}
@@ -0,0 +1,140 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.ButtonFrameState;
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
+import com.badlogic.gdx.controllers.ControllerMapping;
+import com.badlogic.gdx.controllers.ControllerPowerLevel;
+import com.badlogic.gdx.controllers.ControllerState;
+import com.badlogic.gdx.controllers.PendingAxes;
+
+/**
+ * Controller with 16 buttons and 4 axes and no device behind it, holding the state a backend keeps
+ * per controller: pressed buttons per frame, axis values, pending axes for a
+ * {@link com.badlogic.gdx.controllers.ControllerEventHandoff} and its own listeners.
+ */
+class BenchmarkController implements Controller, ButtonFrameState.Owner, PendingAxes.Owner {
+	public static final int MAX_BUTTON_INDEX = 15;
+	public static final int AXIS_COUNT = 4;
+
+	public final ButtonFrameState buttonFrames = new ButtonFrameState(MAX_BUTTON_INDEX);
+	public final float[] axes = new float[AXIS_COUNT];
+	public final ControllerListenerRegistry listeners = new ControllerListenerRegistry();
+	private final PendingAxes pendingAxes = new PendingAxes(AXIS_COUNT);
+
+	@Override
+	public PendingAxes getPendingAxes () {
+		return pendingAxes;
+	}
+
+	@Override
+	public boolean getButton (int buttonCode) {
+		return false;
+	}
+
+	@Override
+	public float getAxis (int axisCode) {
+		return axes[axisCode];
+	}
+
+	@Override
+	public ControllerState getState (ControllerState out) {
+		out.reset(MAX_BUTTON_INDEX, AXIS_COUNT);
+		for (int i = 0; i < AXIS_COUNT; i++)
+			out.setAxis(i, axes[i]);
+		return out;
+	}
+
+	@Override
+	public ButtonFrameState getButtonFrames () {
+		return buttonFrames;
+	}
+
+	@Override
+	public long getInputAgeNanos () {
+		return -1;
+	}
+
+	@Override
+	public String getName () {
+		return "Benchmark controller";
+	}
+
+	@Override
+	public String getUniqueId () {
+		return "benchmark";
+	}
+
+	@Override
+	public int getMinButtonIndex () {
+		return 0;
+	}
+
+	@Override
+	public int getMaxButtonIndex () {
+		return MAX_BUTTON_INDEX;
+	}
+
+	@Override
+	public int getAxisCount () {
+		return AXIS_COUNT;
+	}
+
+	@Override
+	public boolean isConnected () {
+		return true;
+	}
+
+	@Override
+	public boolean canVibrate () {
+		return false;
+	}
+
+	@Override
+	public boolean isVibrating () {
+		return false;
+	}
+
+	@Override
+	public void startVibration (int duration, float strength) {
+	}
+
+	@Override
+	public void cancelVibration () {
+	}
+
+	@Override
+	public boolean supportsPlayerIndex () {
+		return false;
+	}
+
+	@Override
+	public int getPlayerIndex () {
+		return PLAYER_IDX_UNSET;
+	}
+
+	@Override
+	public void setPlayerIndex (int index) {
+	}
+
+	@Override
+	public ControllerMapping getMapping () {
+		return null;
+	}
+
+	@Override
+	public ControllerPowerLevel getPowerLevel () {
+		return ControllerPowerLevel.POWER_UNKNOWN;
+	}
+
+	@Override
+	public void addListener (ControllerListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener (ControllerListener listener) {
+		listeners.remove(listener);
+	}
+}
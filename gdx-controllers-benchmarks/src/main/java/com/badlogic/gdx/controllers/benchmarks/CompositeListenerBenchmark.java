@@ -0,0 +1,84 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.desktop.support.CompositeControllerListener;
+import com.badlogic.gdx.controllers.desktop.support.InMemoryJamepadDevice;
+import com.badlogic.gdx.controllers.desktop.support.JamepadController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of {@link CompositeControllerListener}, the per-controller listener list of the
+ * desktop backend, compared to the {@link LinkedList} iteration it used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeListenerBenchmark {
+	@Param({"1", "4", "16"})
+	public int listenerCount;
+
+	private CompositeControllerListener composite;
+	private LinkedList<ControllerListener> linkedList;
+	private JamepadController controller;
+	private float axisValue;
+
+	@Setup
+	public void setup () {
+		BenchmarkApplication.install();
+		controller = new JamepadController(new InMemoryJamepadDevice("Benchmark controller"));
+		composite = new CompositeControllerListener();
+		linkedList = new LinkedList<>();
+		for (int i = 0; i < listenerCount; i++) {
+			CountingListener listener = new CountingListener();
+			composite.addListener(listener);
+			linkedList.add(listener);
+		}
+	}
+
+	@Benchmark
+	public boolean compositeAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		return composite.axisMoved(controller, 0, axisValue);
+	}
+
+	@Benchmark
+	public boolean compositeButtonDown () {
+		return composite.buttonDown(controller, 0);
+	}
+
+	@Benchmark
+	public boolean linkedListAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		for (ControllerListener listener : linkedList) {
+			if (listener.axisMoved(controller, 0, axisValue))
+				return true;
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean linkedListButtonDown () {
+		for (ControllerListener listener : linkedList) {
+			if (listener.buttonDown(controller, 0))
+				return true;
+		}
+		return false;
+	}
+}
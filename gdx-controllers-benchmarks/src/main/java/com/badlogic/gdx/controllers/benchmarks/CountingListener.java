@@ -0,0 +1,27 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+
+/** Listener doing a minimum of work for every event, never consuming it */
+class CountingListener extends ControllerAdapter {
+	public int events;
+
+	@Override
+	public boolean buttonDown (Controller controller, int buttonIndex) {
+		events++;
+		return false;
+	}
+
+	@Override
+	public boolean buttonUp (Controller controller, int buttonIndex) {
+		events++;
+		return false;
+	}
+
+	@Override
+	public boolean axisMoved (Controller controller, int axisIndex, float value) {
+		events++;
+		return false;
+	}
+}
@@ -0,0 +1,162 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.badlogic.gdx.controllers.ControllerEventHandoff;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
+import com.badlogic.gdx.controllers.TimedControllerListener;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-off of events from the Android UI thread to the rendering thread, with one thread producing
+ * and one draining at the same time: a motion event offers one event per moved axis, and the
+ * rendering thread drains everything queued.
+ * <p>
+ * {@code coalesced} and {@code batched} run {@link ControllerEventHandoff}, which
+ * {@code AndroidControllers} hands its events through, with axis events coalesced as by default,
+ * or queued one by one as with {@code processHistoricalSamples}. {@code locked} is the pooled event
+ * objects in an {@link Array} guarded by its monitor that the backend used before. It no longer
+ * exists in the tree, so it is kept here as the reference, bounded to {@value #CAPACITY} events
+ * like the hand-off. Compare the drain times, they are what stalls the rendering thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventHandoffBenchmark {
+	private static final int CAPACITY = 1024;
+
+	@State(Scope.Group)
+	public static class LockedQueue {
+		final Array<Event> eventQueue = new Array<Event>();
+		final Pool<Event> eventPool = new Pool<Event>() {
+			@Override
+			protected Event newObject () {
+				return new Event();
+			}
+		};
+	}
+
+	@State(Scope.Group)
+	public static class Handoff {
+		final ControllerEventHandoff eventHandoff = new ControllerEventHandoff(CAPACITY);
+		final BenchmarkController controller = new BenchmarkController();
+		final SummingListener listener = new SummingListener();
+		// only used by the producer, so every motion event moves the axes
+		float axisValue = 0.5f;
+	}
+
+	static class SummingListener extends ControllerAdapter implements TimedControllerListener {
+		float sum;
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonCode, long captureNanos) {
+			sum += buttonCode;
+			return false;
+		}
+
+		@Override
+		public boolean buttonUp (Controller controller, int buttonCode, long captureNanos) {
+			sum += buttonCode;
+			return false;
+		}
+
+		@Override
+		public boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos) {
+			sum += axisCode + value;
+			return false;
+		}
+	}
+
+	static class Event {
+		int type;
+		int code;
+		float axisValue;
+		long timeNanos;
+	}
+
+	@Benchmark
+	@Group("locked")
+	@GroupThreads(1)
+	public void lockedMotionEvent (LockedQueue queue) {
+		long timeNanos = System.nanoTime();
+		synchronized (queue.eventQueue) {
+			for (int axis = 0; axis < BenchmarkController.AXIS_COUNT; axis++) {
+				// the same overflow policy as the ring, the newest event is dropped
+				if (queue.eventQueue.size >= CAPACITY)
+					break;
+				Event event = queue.eventPool.obtain();
+				event.type = ControllerEventQueue.AXIS_MOVED;
+				event.code = axis;
+				event.axisValue = 0.5f;
+				event.timeNanos = timeNanos;
+				queue.eventQueue.add(event);
+			}
+		}
+	}
+
+	@Benchmark
+	@Group("locked")
+	@GroupThreads(1)
+	public float lockedDrain (LockedQueue queue) {
+		float sum = 0;
+		synchronized (queue.eventQueue) {
+			for (Event event : queue.eventQueue)
+				sum += event.code + event.axisValue;
+			queue.eventPool.freeAll(queue.eventQueue);
+			queue.eventQueue.clear();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@Group("coalesced")
+	@GroupThreads(1)
+	public void coalescedMotionEvent (Handoff handoff) {
+		motionEvent(handoff, true);
+	}
+
+	@Benchmark
+	@Group("coalesced")
+	@GroupThreads(1)
+	public int coalescedDrain (Handoff handoff) {
+		return handoff.eventHandoff.drain(handoff.listener);
+	}
+
+	@Benchmark
+	@Group("batched")
+	@GroupThreads(1)
+	public void batchedMotionEvent (Handoff handoff) {
+		motionEvent(handoff, false);
+	}
+
+	@Benchmark
+	@Group("batched")
+	@GroupThreads(1)
+	public int batchedDrain (Handoff handoff) {
+		return handoff.eventHandoff.drain(handoff.listener);
+	}
+
+	private static void motionEvent (Handoff handoff, boolean coalesce) {
+		long timeNanos = System.nanoTime();
+		float value = handoff.axisValue = -handoff.axisValue;
+		for (int axis = 0; axis < BenchmarkController.AXIS_COUNT; axis++)
+			handoff.eventHandoff.offerAxis(handoff.controller, axis, value, timeNanos, coalesce);
+	}
+}
@@ -0,0 +1,124 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.badlogic.gdx.controllers.ControllerEventHandoff;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
+import com.badlogic.gdx.controllers.TimedControllerListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the Android backend on a single thread: input callbacks offer events to the
+ * {@link ControllerEventHandoff}, then the rendering thread drains them into the controller state
+ * and the global and the controller {@link ControllerListenerRegistry}.
+ * <p>
+ * The drain is the real one, the {@link Dispatcher} does what the one of {@code AndroidControllers}
+ * does with each event. The GWT backend's queue needs a browser and isn't measured here, see
+ * {@link EventHandoffBenchmark} for the hand-off between two threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventQueueDrainBenchmark {
+	@Param({"8", "64"})
+	public int eventsPerFrame;
+
+	@Param({"true", "false"})
+	public boolean coalesce;
+
+	private final ControllerEventHandoff eventHandoff = new ControllerEventHandoff(1024);
+	private final BenchmarkController controller = new BenchmarkController();
+	private final Dispatcher dispatcher = new Dispatcher();
+	private int frame;
+
+	@Setup
+	public void setup () {
+		dispatcher.globalListeners.add(new CountingListener());
+		controller.addListener(new CountingListener());
+	}
+
+	@Benchmark
+	public int frame () {
+		long timeNanos = System.nanoTime();
+		for (int i = 0; i < eventsPerFrame; i++) {
+			int type = eventType(i);
+			int code = i & 3;
+			if (type == ControllerEventQueue.AXIS_MOVED) {
+				float value = axisValue(i);
+				// skips unchanged samples like the backend does
+				if (value != controller.getPendingAxes().getQueuedValue(code))
+					eventHandoff.offerAxis(controller, code, value, timeNanos, coalesce);
+			} else {
+				eventHandoff.offer(controller, type, code, timeNanos);
+			}
+		}
+
+		int delivered = eventHandoff.drain(dispatcher);
+		controller.buttonFrames.nextFrame();
+		frame++;
+		return delivered;
+	}
+
+	// mostly stick movement with the occasional button press, as seen during gameplay
+	private static int eventType (int i) {
+		int kind = i & 7;
+		return kind == 0 ? ControllerEventQueue.BUTTON_DOWN : kind == 4 ? ControllerEventQueue.BUTTON_UP : ControllerEventQueue.AXIS_MOVED;
+	}
+
+	// alternates per event and frame, so most samples differ from the one queued before
+	private float axisValue (int i) {
+		return (((i >> 2) + frame) & 1) == 0 ? 0.5f : -0.5f;
+	}
+
+	// applies the drained events to the controller state, then notifies its listeners
+	static class Dispatcher extends ControllerAdapter implements TimedControllerListener {
+		final ControllerListenerRegistry globalListeners = new ControllerListenerRegistry();
+
+		@Override
+		public boolean buttonDown (Controller controller, int buttonCode, long captureNanos) {
+			BenchmarkController benchmarkController = (BenchmarkController)controller;
+			benchmarkController.buttonFrames.setButton(buttonCode, true);
+			globalListeners.buttonDown(controller, buttonCode, captureNanos);
+			benchmarkController.listeners.buttonDown(controller, buttonCode, captureNanos);
+			return false;
+		}
+
+		@Override
+		public boolean buttonUp (Controller controller, int buttonCode, long captureNanos) {
+			BenchmarkController benchmarkController = (BenchmarkController)controller;
+			benchmarkController.buttonFrames.setButton(buttonCode, false);
+			globalListeners.buttonUp(controller, buttonCode, captureNanos);
+			benchmarkController.listeners.buttonUp(controller, buttonCode, captureNanos);
+			return false;
+		}
+
+		@Override
+		public boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos) {
+			BenchmarkController benchmarkController = (BenchmarkController)controller;
+			// coalesced events may repeat the value delivered before
+			if (value == benchmarkController.axes[axisCode])
+				return false;
+			benchmarkController.axes[axisCode] = value;
+			globalListeners.axisMoved(controller, axisCode, value, captureNanos);
+			benchmarkController.listeners.axisMoved(controller, axisCode, value, captureNanos);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.desktop.support.InMemoryDeviceSource;
+import com.badlogic.gdx.controllers.desktop.support.InMemoryJamepadDevice;
+import com.badlogic.gdx.controllers.desktop.support.JamepadController;
+import com.badlogic.gdx.controllers.desktop.support.JamepadControllerMonitor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-plug churn on the desktop backend, polled through {@link JamepadControllerMonitor} from an
+ * {@link InMemoryDeviceSource}. {@link #churn()} unplugs a controller, polls, which reconciles the
+ * slots and reports the disconnect, plugs the device back in and polls again, which pairs it with a
+ * new controller. {@link #unpluggedPoll()} polls all buttons and axes of a controller that stays
+ * unplugged, as a game holding on to it does every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotplugBenchmark {
+	@Param({"4", "16"})
+	public int controllerCount;
+
+	private InMemoryDeviceSource source;
+	private JamepadControllerMonitor monitor;
+	private InMemoryJamepadDevice[] devices;
+	private int[] slots;
+	private JamepadController unplugged;
+	private int next;
+
+	@Setup
+	public void setup () {
+		BenchmarkApplication.install();
+		source = new InMemoryDeviceSource(controllerCount);
+		devices = new InMemoryJamepadDevice[controllerCount];
+		slots = new int[controllerCount];
+		for (int i = 0; i < controllerCount; i++) {
+			devices[i] = new InMemoryJamepadDevice("Benchmark controller " + i);
+			slots[i] = source.plug(devices[i]);
+		}
+		monitor = new JamepadControllerMonitor(source, new CountingListener(), null, null);
+
+		InMemoryDeviceSource unpluggedSource = new InMemoryDeviceSource(1);
+		InMemoryJamepadDevice unpluggedDevice = new InMemoryJamepadDevice("Unplugged controller");
+		unpluggedSource.plug(unpluggedDevice);
+		unplugged = new JamepadController(unpluggedDevice);
+		unpluggedSource.unplug(0);
+		unplugged.update();
+	}
+
+	@Benchmark
+	public void churn () {
+		int index = next;
+		next = (next + 1) % controllerCount;
+
+		source.unplug(slots[index]);
+		monitor.poll();
+		slots[index] = source.plug(devices[index]);
+		monitor.poll();
+	}
+
+	@Benchmark
+	public float unpluggedPoll () {
+		float sum = 0;
+		for (int button = 0; button <= unplugged.getMaxButtonIndex(); button++) {
+			if (unplugged.getButton(button))
+				sum++;
+		}
+		for (int axis = 0; axis < unplugged.getAxisCount(); axis++)
+			sum += unplugged.getAxis(axis);
+		return sum;
+	}
+}
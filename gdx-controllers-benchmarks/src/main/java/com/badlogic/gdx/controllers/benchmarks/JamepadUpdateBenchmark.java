@@ -0,0 +1,86 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.desktop.support.InMemoryDeviceSource;
+import com.badlogic.gdx.controllers.desktop.support.InMemoryJamepadDevice;
+import com.badlogic.gdx.controllers.desktop.support.JamepadController;
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame polling of {@link JamepadController#update()} against {@link InMemoryJamepadDevice}s, for
+ * one controller and for 16, the most SDL supports. {@link #idle()} polls unchanged controllers,
+ * {@link #active()} flips a button and moves a stick on every controller before polling, producing
+ * three events per controller.
+ * <p>
+ * No results are recorded for the state kept in a bitset and a float array. To compare it with the
+ * boxed maps used before, run {@code -PjmhArgs="JamepadUpdate -p controllerCount=16 -prof gc"} on the
+ * commit that introduced the bitset and on its parent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JamepadUpdateBenchmark {
+	@Param({"1", "16"})
+	public int controllerCount;
+
+	private InMemoryJamepadDevice[] devices;
+	private JamepadController[] controllers;
+	private CountingListener listener;
+	private boolean pressed;
+	private float axis;
+
+	@Setup
+	public void setup () {
+		BenchmarkApplication.install();
+		InMemoryDeviceSource source = new InMemoryDeviceSource(controllerCount);
+		devices = new InMemoryJamepadDevice[controllerCount];
+		controllers = new JamepadController[controllerCount];
+		listener = new CountingListener();
+		for (int i = 0; i < controllerCount; i++) {
+			devices[i] = new InMemoryJamepadDevice("Benchmark controller " + i);
+			source.plug(devices[i]);
+			controllers[i] = new JamepadController(devices[i]);
+			controllers[i].addListener(listener);
+		}
+	}
+
+	@Benchmark
+	public boolean idle () {
+		boolean connected = true;
+		for (JamepadController controller : controllers)
+			connected &= controller.update();
+		return connected;
+	}
+
+	@Benchmark
+	public boolean active () {
+		pressed = !pressed;
+		axis = -axis + 0.1f;
+		boolean connected = true;
+		for (int i = 0; i < controllers.length; i++) {
+			InMemoryJamepadDevice device = devices[i];
+			device.setButton(ControllerButton.A, pressed);
+			device.setAxis(ControllerAxis.LEFTX, axis);
+			device.setAxis(ControllerAxis.LEFTY, -axis);
+			connected &= controllers[i].update();
+		}
+		return connected;
+	}
+}
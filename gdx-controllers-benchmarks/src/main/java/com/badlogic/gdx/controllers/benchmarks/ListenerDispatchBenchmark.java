@@ -0,0 +1,111 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.VirtualController;
+import com.badlogic.gdx.controllers.VirtualControllerManager;
+import com.badlogic.gdx.utils.Array;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of the global and the controller listeners of an
+ * {@link com.badlogic.gdx.controllers.AbstractControllerManager}, compared to the former dispatch
+ * that locked the global and the controller listener arrays for every event.
+ * <p>
+ * Events are injected with {@link VirtualControllerManager#setAxis(int, int, float)} and
+ * {@link VirtualControllerManager#setButton(int, int, boolean)}, which dispatch through the same
+ * listener registries as the backends. Every injection is a change, buttons alternate between
+ * pressed and released.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerDispatchBenchmark {
+	@Param({"1", "4", "16"})
+	public int listenerCount;
+
+	private VirtualControllerManager manager;
+	private VirtualController controller;
+	private Array<ControllerListener> lockedGlobalListeners;
+	private Array<ControllerListener> lockedControllerListeners;
+	private float axisValue;
+	private boolean pressed;
+
+	@Setup
+	public void setup () {
+		manager = new VirtualControllerManager();
+		controller = manager.connect("Benchmark controller");
+		lockedGlobalListeners = new Array<>();
+		lockedControllerListeners = new Array<>();
+		for (int i = 0; i < listenerCount; i++) {
+			CountingListener global = new CountingListener();
+			manager.addListener(global);
+			lockedGlobalListeners.add(global);
+
+			CountingListener local = new CountingListener();
+			controller.addListener(local);
+			lockedControllerListeners.add(local);
+		}
+	}
+
+	@Benchmark
+	public void registryAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		manager.setAxis(controller.getSlot(), 0, axisValue);
+	}
+
+	@Benchmark
+	public void registryButton () {
+		pressed = !pressed;
+		manager.setButton(controller.getSlot(), 0, pressed);
+	}
+
+	@Benchmark
+	public void lockedArrayAxisMoved () {
+		axisValue = -axisValue + 0.1f;
+		synchronized (lockedGlobalListeners) {
+			for (ControllerListener listener : lockedGlobalListeners) {
+				if (listener.axisMoved(controller, 0, axisValue))
+					break;
+			}
+		}
+		synchronized (lockedControllerListeners) {
+			for (ControllerListener listener : lockedControllerListeners) {
+				if (listener.axisMoved(controller, 0, axisValue))
+					break;
+			}
+		}
+	}
+
+	@Benchmark
+	public void lockedArrayButton () {
+		pressed = !pressed;
+		synchronized (lockedGlobalListeners) {
+			for (ControllerListener listener : lockedGlobalListeners) {
+				if (pressed ? listener.buttonDown(controller, 0) : listener.buttonUp(controller, 0))
+					break;
+			}
+		}
+		synchronized (lockedControllerListeners) {
+			for (ControllerListener listener : lockedControllerListeners) {
+				if (pressed ? listener.buttonDown(controller, 0) : listener.buttonUp(controller, 0))
+					break;
+			}
+		}
+	}
+}
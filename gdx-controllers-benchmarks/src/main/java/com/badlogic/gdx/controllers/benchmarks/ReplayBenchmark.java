@@ -0,0 +1,86 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.VirtualController;
+import com.badlogic.gdx.controllers.VirtualControllerManager;
+import com.badlogic.gdx.controllers.recording.ControllerRecorder;
+import com.badlogic.gdx.controllers.recording.ReplayConfiguration;
+import com.badlogic.gdx.controllers.recording.ReplayControllerManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draining a recorded session of two million events as fast as possible with
+ * {@link ReplayControllerManager}, about an hour of two players moving sticks and pressing buttons
+ * every frame. The recording is written once per trial with {@link ControllerRecorder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReplayBenchmark {
+	private static final int EVENTS = 2000000;
+
+	private File recording;
+	private ReplayControllerManager manager;
+
+	@Setup(Level.Trial)
+	public void record () throws IOException {
+		recording = File.createTempFile("controllers", ".rec");
+		VirtualControllerManager source = new VirtualControllerManager();
+		ControllerRecorder recorder = new ControllerRecorder(recording, 16 * 1024 * 1024);
+		source.addListener(recorder);
+		VirtualController first = source.connect("Player 1");
+		VirtualController second = source.connect("Player 2");
+		for (int i = 0; i < EVENTS; i++) {
+			VirtualController controller = (i & 1) == 0 ? first : second;
+			if ((i & 7) == 0)
+				source.setButton(controller.getSlot(), (i >> 3) % 15, (i & 8) == 0);
+			else
+				source.setAxis(controller.getSlot(), i & 3, (i % 100) / 100f);
+		}
+		recorder.dispose();
+	}
+
+	@Setup(Level.Invocation)
+	public void open () {
+		manager = new ReplayControllerManager(new ReplayConfiguration(recording, ReplayConfiguration.Mode.MANUAL));
+		manager.addListener(new CountingListener());
+	}
+
+	@TearDown(Level.Invocation)
+	public void close () {
+		manager.dispose();
+	}
+
+	@TearDown(Level.Trial)
+	public void delete () {
+		for (int i = 0; ; i++) {
+			File segment = new File(recording.getPath() + "." + i);
+			if (!segment.delete())
+				break;
+		}
+		recording.delete();
+	}
+
+	@Benchmark
+	public int replayAll () {
+		return manager.replayAll();
+	}
+}
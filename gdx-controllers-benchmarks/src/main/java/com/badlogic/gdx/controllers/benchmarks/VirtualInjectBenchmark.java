@@ -0,0 +1,64 @@
+package com.badlogic.gdx.controllers.benchmarks;
+
+import com.badlogic.gdx.controllers.VirtualControllerManager;
+import com.badlogic.gdx.controllers.VirtualInputBatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick of simulated players: a batch of 10k button and stick changes spread over the
+ * controllers of a {@link VirtualControllerManager}, dispatched to a global listener.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualInjectBenchmark {
+	private static final int EVENTS_PER_TICK = 10000;
+
+	@Param({"100", "1000"})
+	public int controllerCount;
+
+	private VirtualControllerManager manager;
+	private final VirtualInputBatch[] batches = {new VirtualInputBatch(EVENTS_PER_TICK), new VirtualInputBatch(EVENTS_PER_TICK)};
+	private int tick;
+
+	@Setup
+	public void setup () {
+		manager = new VirtualControllerManager();
+		manager.ensureCapacity(controllerCount);
+		manager.addListener(new CountingListener());
+		for (int i = 0; i < controllerCount; i++)
+			manager.connect("Bot " + i);
+
+		// two alternating ticks, so every injected event is a change
+		for (int b = 0; b < batches.length; b++) {
+			for (int i = 0; i < EVENTS_PER_TICK; i++) {
+				int slot = i % controllerCount;
+				if ((i & 3) == 0)
+					batches[b].addButton(slot, (i >> 2) % 15, b == 0);
+				else
+					batches[b].addAxis(slot, i & 3, b == 0 ? 0.5f : -0.5f);
+			}
+		}
+	}
+
+	@Benchmark
+	public void injectTick () {
+		manager.inject(batches[tick++ & 1]);
+	}
+}
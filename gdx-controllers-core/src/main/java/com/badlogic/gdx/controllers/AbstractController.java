@@ -1,88 +1,158 @@
 package com.badlogic.gdx.controllers;
 
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * AbstractController to be used by new Controller implementations. Provides listener notification
  * implementations and default return values
  */
-abstract class AbstractController implements Disposable, Controller {
-	private final Array<ControllerListener> listeners = new Array<>();
+abstract class AbstractController implements Disposable, Controller, ButtonFrameState.Owner {
+	private final ControllerListenerRegistry listeners = new ControllerListenerRegistry();
+	private final ButtonFrameState buttonFrames = new ButtonFrameState(63);
 	private boolean connected = true;
+	private long lastInputNanos = -1;
+	// the global listeners of the active manager, looked up with the first event instead of for every one
+	private ControllerListenerRegistry managerListeners;
+	private boolean managerListenersResolved;
 
 	@Override
 	public void dispose() {
-		synchronized (listeners) {
-			listeners.clear();
-		}
+		listeners.clear();
+		buttonFrames.clear();
 		connected = false;
 	}
 
 	protected void notifyListenersButtonUp(int button) {
-		Array<ControllerListener> managerListeners = Controllers.getListeners();
-		synchronized (managerListeners) {
-			for (ControllerListener listener : managerListeners) {
-				if (listener.buttonUp(this, button))
-					break;
-			}
-		}
+		notifyListenersButtonUp(getManagerListeners(), button, TimeUtils.nanoTime());
+	}
 
-		synchronized (this.listeners) {
-			for (ControllerListener listener : this.listeners) {
+	/**
+	 * Dispatches to the given global listeners instead of looking up the active manager's
+	 * registry, or to {@link Controllers#getListeners()} if it is null
+	 */
+	void notifyListenersButtonUp(ControllerListenerRegistry managerListeners, int button, long captureNanos) {
+		buttonFrames.setButton(button, false);
+		lastInputNanos = captureNanos;
+
+		if (managerListeners != null) {
+			managerListeners.buttonUp(this, button, captureNanos);
+		} else {
+			// getListeners() returns a copy, which needs no lock
+			for (ControllerListener listener : Controllers.getListeners()) {
 				if (listener.buttonUp(this, button))
 					break;
 			}
 		}
-    }
+
+		listeners.buttonUp(this, button, captureNanos);
+	}
 
 	protected void notifyListenersButtonDown(int button) {
-		Array<ControllerListener> managerListeners = Controllers.getListeners();
-		synchronized (managerListeners) {
-			for (ControllerListener listener : managerListeners) {
-				if (listener.buttonDown(this, button))
-					break;
-			}
-		}
+		notifyListenersButtonDown(getManagerListeners(), button, TimeUtils.nanoTime());
+	}
+
+	void notifyListenersButtonDown(ControllerListenerRegistry managerListeners, int button, long captureNanos) {
+		buttonFrames.setButton(button, true);
+		lastInputNanos = captureNanos;
 
-		synchronized (listeners) {
-			for (ControllerListener listener : listeners) {
+		if (managerListeners != null) {
+			managerListeners.buttonDown(this, button, captureNanos);
+		} else {
+			// getListeners() returns a copy, which needs no lock
+			for (ControllerListener listener : Controllers.getListeners()) {
 				if (listener.buttonDown(this, button))
 					break;
 			}
 		}
-    }
+
+		listeners.buttonDown(this, button, captureNanos);
+	}
 
 	protected void notifyListenersAxisMoved(int axisNum, float value) {
-		Array<ControllerListener> managerListeners = Controllers.getListeners();
-		synchronized (managerListeners) {
-			for (ControllerListener listener : managerListeners) {
+		notifyListenersAxisMoved(getManagerListeners(), axisNum, value, TimeUtils.nanoTime());
+	}
+
+	void notifyListenersAxisMoved(ControllerListenerRegistry managerListeners, int axisNum, float value, long captureNanos) {
+		lastInputNanos = captureNanos;
+
+		if (managerListeners != null) {
+			managerListeners.axisMoved(this, axisNum, value, captureNanos);
+		} else {
+			// getListeners() returns a copy, which needs no lock
+			for (ControllerListener listener : Controllers.getListeners()) {
 				if (listener.axisMoved(this, axisNum, value))
 					break;
 			}
 		}
 
-		synchronized (listeners) {
-			for (ControllerListener listener : listeners) {
-				if (listener.axisMoved(this, axisNum, value))
-					break;
-			}
+		listeners.axisMoved(this, axisNum, value, captureNanos);
+	}
+
+	/** @return the registry of the active manager, or null if it has none and {@link Controllers#getListeners()} is used */
+	private ControllerListenerRegistry getManagerListeners() {
+		if (!managerListenersResolved) {
+			managerListeners = Controllers.getListenerRegistry();
+			managerListenersResolved = true;
 		}
+		return managerListeners;
 	}
 
 	@Override
 	public void addListener(ControllerListener controllerListener) {
-		synchronized (listeners) {
-			if (!listeners.contains(controllerListener, true))
-				listeners.add(controllerListener);
-		}
+		listeners.addIfAbsent(controllerListener);
 	}
 
 	@Override
 	public void removeListener(ControllerListener controllerListener) {
-		synchronized (listeners) {
-			listeners.removeValue(controllerListener, true);
+		listeners.remove(controllerListener);
+	}
+
+	/**
+	 * Starts a new frame for the edge queries. To be called once per frame by the manager.
+	 */
+	void nextFrame() {
+		buttonFrames.nextFrame();
+	}
+
+	@Override
+	public ButtonFrameState getButtonFrames() {
+		return buttonFrames;
+	}
+
+	/** @see Controllers#isButtonJustPressed(Controller, int) */
+	public boolean isButtonJustPressed(int buttonCode) {
+		return buttonFrames.isButtonJustPressed(buttonCode);
+	}
+
+	/** @see Controllers#isButtonJustReleased(Controller, int) */
+	public boolean isButtonJustReleased(int buttonCode) {
+		return buttonFrames.isButtonJustReleased(buttonCode);
+	}
+
+	/** @see Controllers#anyButtonJustPressed(Controller) */
+	public boolean anyButtonJustPressed() {
+		return buttonFrames.anyButtonJustPressed();
+	}
+
+	@Override
+	public long getInputAgeNanos() {
+		return lastInputNanos < 0 ? -1 : TimeUtils.nanoTime() - lastInputNanos;
+	}
+
+	@Override
+	public ControllerState getState(ControllerState out) {
+		int maxButtonIndex = getMaxButtonIndex();
+		int axisCount = getAxisCount();
+		out.reset(maxButtonIndex, axisCount);
+		for (int i = getMinButtonIndex(); i <= maxButtonIndex; i++) {
+			if (getButton(i))
+				out.setButton(i, true);
+		}
+		for (int i = 0; i < axisCount; i++) {
+			out.setAxis(i, getAxis(i));
 		}
+		return out;
 	}
 
 	// methods from advanced interface that are not supported by most controllers
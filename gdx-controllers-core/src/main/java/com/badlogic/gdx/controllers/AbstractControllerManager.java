@@ -4,6 +4,8 @@ import com.badlogic.gdx.utils.Array;
 
 public abstract class AbstractControllerManager implements ControllerManager {
     protected final Array<Controller> controllers = new Array<>();
+    protected final ControllerMetrics metrics = new ControllerMetrics();
+    protected final ControllerListenerRegistry listeners = new ControllerListenerRegistry(metrics);
     private Controller currentController;
 
     @Override
@@ -16,6 +18,49 @@ public abstract class AbstractControllerManager implements ControllerManager {
         return currentController;
     }
 
+    @Override
+    public void addListener(ControllerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a global listener only receiving the button and axis events accepted by the filter
+     */
+    public void addListener(ControllerListener listener, ListenerFilter filter) {
+        listeners.add(listener, filter);
+    }
+
+    @Override
+    public void removeListener(ControllerListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Array<ControllerListener> getListeners() {
+        return listeners.getListeners();
+    }
+
+    @Override
+    public void clearListeners() {
+        listeners.clear();
+        listeners.add(new ManageCurrentControllerListener());
+    }
+
+    /**
+     * @return the registry holding the global listeners. Events dispatched to it reach every
+     * global listener without locking.
+     */
+    public ControllerListenerRegistry getListenerRegistry() {
+        return listeners;
+    }
+
+    /**
+     * @return the metrics of this manager's input pipeline
+     */
+    public ControllerMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Manages currentController field. Must be added to controller listeners as first listener
      */
@@ -0,0 +1,126 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Pressed buttons of a controller for the current and the previous frame, kept as bitsets indexed
+ * by button code. Backends record button changes with {@link #setButton(int, boolean)} whenever they
+ * happen, and call {@link #nextFrame()} once per frame from the tick that dispatches events. The
+ * frame bitsets only change in {@link #nextFrame()}, so edge queries give the same answer for the
+ * whole frame and need no listener.
+ * <p>
+ * A button pressed and released again between two ticks is still reported: it is pressed and just
+ * pressed for the next frame, and just released in the frame after.
+ */
+public class ButtonFrameState {
+	private long[] live;
+	// buttons pressed since the last frame, even if they were released again
+	private long[] latched;
+	private long[] current;
+	private long[] previous;
+
+	public ButtonFrameState (int maxButtonIndex) {
+		int words = (Math.max(maxButtonIndex, 0) >>> 6) + 1;
+		live = new long[words];
+		latched = new long[words];
+		current = new long[words];
+		previous = new long[words];
+	}
+
+	/** Starts a new frame: the current buttons become the previous ones, recorded changes become current */
+	public void nextFrame () {
+		long[] swap = previous;
+		previous = current;
+		current = swap;
+		for (int i = 0; i < live.length; i++) {
+			current[i] = live[i] | latched[i];
+			latched[i] = 0;
+		}
+	}
+
+	/** Records a button change, it is visible to the frame queries after the next {@link #nextFrame()} */
+	public void setButton (int buttonCode, boolean pressed) {
+		if (buttonCode < 0)
+			return;
+
+		int word = buttonCode >>> 6;
+		if (word >= live.length) {
+			if (!pressed)
+				return;
+			grow(word + 1);
+		}
+
+		if (pressed) {
+			live[word] |= 1L << (buttonCode & 63);
+			latched[word] |= 1L << (buttonCode & 63);
+		} else
+			live[word] &= ~(1L << (buttonCode & 63));
+	}
+
+	/** Releases all buttons without reporting edges, for example when the controller disconnected */
+	public void clear () {
+		for (int i = 0; i < live.length; i++) {
+			live[i] = 0;
+			latched[i] = 0;
+			current[i] = 0;
+			previous[i] = 0;
+		}
+	}
+
+	/** @return true if the button is pressed in this frame */
+	public boolean isButtonPressed (int buttonCode) {
+		if (buttonCode < 0)
+			return false;
+
+		int word = buttonCode >>> 6;
+		return word < current.length && (current[word] & (1L << (buttonCode & 63))) != 0;
+	}
+
+	/** @return true if the button is pressed in this frame, but was not in the previous one */
+	public boolean isButtonJustPressed (int buttonCode) {
+		if (buttonCode < 0)
+			return false;
+
+		int word = buttonCode >>> 6;
+		return word < current.length && (current[word] & ~previous[word] & (1L << (buttonCode & 63))) != 0;
+	}
+
+	/** @return true if the button was pressed in the previous frame, but is not in this one */
+	public boolean isButtonJustReleased (int buttonCode) {
+		if (buttonCode < 0)
+			return false;
+
+		int word = buttonCode >>> 6;
+		return word < current.length && (previous[word] & ~current[word] & (1L << (buttonCode & 63))) != 0;
+	}
+
+	/** @return true if any button got pressed in this frame */
+	public boolean anyButtonJustPressed () {
+		for (int i = 0; i < current.length; i++) {
+			if ((current[i] & ~previous[i]) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	private void grow (int words) {
+		live = copyOf(live, words);
+		latched = copyOf(latched, words);
+		current = copyOf(current, words);
+		previous = copyOf(previous, words);
+	}
+
+	private static long[] copyOf (long[] bits, int words) {
+		long[] newBits = new long[words];
+		System.arraycopy(bits, 0, newBits, 0, bits.length);
+		return newBits;
+	}
+
+	/**
+	 * A controller that tracks its buttons per frame, which the controllers of all backends do.
+	 * Query any controller with {@link Controllers#isButtonJustPressed(Controller, int)} and the
+	 * related methods.
+	 */
+	public interface Owner {
+		/** @return the frame state, updated by the backend. Only query it. */
+		ButtonFrameState getButtonFrames ();
+	}
+}
@@ -35,6 +35,19 @@ public interface Controller {
 	 * @return the value of the axis, between -1 and 1 */
 	float getAxis (int axisCode);
 
+	/**
+	 * Fills the given state with all buttons and axes of this controller in one pass. Reuse the
+	 * same state object every frame, filling it does not allocate.
+	 *
+	 * @param out state to fill, previous content is cleared
+	 * @return the given state
+	 */
+	ControllerState getState (ControllerState out);
+
+	/** @return nanoseconds since the most recent button or axis change of this controller was captured by the backend, or -1 if
+	 *         there was none yet. See {@link TimedControllerListener} for what the capture time is on each platform. */
+	long getInputAgeNanos ();
+
 	/** @return the device name */
 	String getName ();
 
@@ -0,0 +1,127 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Hands controller events from an input thread to the rendering thread, without locks. Used by
+ * backends whose input callbacks run on another thread than the frame, like Android's UI thread.
+ * <p>
+ * Events go through a {@link ControllerEventQueue}, which drops new events while it is full. So
+ * that a flood of axis samples can't push out state changes, axis events are handled apart:
+ * <ul>
+ * <li>By default, an axis event is coalesced in the {@link PendingAxes} of its controller. At most
+ * one event per axis is queued, and it delivers the latest value when the consumer gets to it.</li>
+ * <li>Axis events that should be delivered one by one, like batched samples, are queued as they
+ * are, but only while more than a quarter of the queue is free. Otherwise, and while a coalesced
+ * event is queued for the axis, they are coalesced as well, so the final value of an axis is
+ * never lost.</li>
+ * </ul>
+ * Button, connect and disconnect events may use the whole queue, the free quarter is reserved for
+ * them and the bounded number of coalesced axis events.
+ * <p>
+ * Controllers passed to {@link #offerAxis(Controller, int, float, long, boolean)} must implement
+ * {@link PendingAxes.Owner}.
+ */
+public class ControllerEventHandoff {
+	// event type of coalesced axis events, whose value is in the pending axes of the controller
+	private static final int AXIS_PENDING = 5;
+
+	private final ControllerEventQueue queue;
+	// free slots below which axis events are coalesced, kept for state changes
+	private final int reserved;
+
+	/** @param capacity the maximum number of queued events, rounded up to a power of two */
+	public ControllerEventHandoff (int capacity) {
+		queue = new ControllerEventQueue(capacity);
+		reserved = queue.capacity() / 4;
+	}
+
+	/**
+	 * Queues a connect, disconnect or button event, only called by the producer thread.
+	 * @param type one of {@link ControllerEventQueue#CONNECTED}, {@link ControllerEventQueue#DISCONNECTED},
+	 *           {@link ControllerEventQueue#BUTTON_DOWN} or {@link ControllerEventQueue#BUTTON_UP}
+	 * @return false if the queue is full and the event was dropped
+	 */
+	public boolean offer (Controller controller, int type, int code, long captureNanos) {
+		return queue.offer(controller, type, code, 0, captureNanos);
+	}
+
+	/**
+	 * Queues an axis event, only called by the producer thread. Skip samples equal to
+	 * {@link PendingAxes#getQueuedValue(int)} before calling this.
+	 * @param coalesce false to queue the event as it is while there is room, see the class documentation
+	 * @return false if the queue is full and the value was dropped
+	 */
+	public boolean offerAxis (Controller controller, int axis, float value, long captureNanos, boolean coalesce) {
+		PendingAxes pending = ((PendingAxes.Owner)controller).getPendingAxes();
+		// a queued event must not follow a coalesced one of the same axis, which would deliver the newer value first
+		if (!coalesce && queue.remaining() > reserved && pending.flags.get(axis) == 0
+			&& queue.offer(controller, ControllerEventQueue.AXIS_MOVED, axis, value, captureNanos)) {
+			pending.setQueuedValue(axis, value);
+			return true;
+		}
+
+		pending.values[axis] = value;
+		pending.captureNanos[axis] = captureNanos;
+		// publishes the value, which the queued event will pick up
+		if (pending.flags.getAndSet(axis, 1) == 0 && !queue.offer(controller, AXIS_PENDING, axis, 0, 0)) {
+			pending.flags.set(axis, 0);
+			return false;
+		}
+		pending.setQueuedValue(axis, value);
+		return true;
+	}
+
+	/**
+	 * Delivers the events queued so far to the listener, only called by the consumer thread. Events
+	 * queued meanwhile wait for the next call, so a flood of input can't hold up the frame. Coalesced
+	 * axis events deliver the latest value, which may equal the one delivered before, the listener
+	 * should skip those.
+	 * @return the number of events delivered
+	 */
+	public int drain (TimedControllerListener listener) {
+		int count = queue.size();
+		for (int i = 0; i < count; i++) {
+			queue.next();
+			Controller controller = queue.getController();
+			int code = queue.getCode();
+			switch (queue.getType()) {
+			case ControllerEventQueue.CONNECTED:
+				listener.connected(controller);
+				break;
+			case ControllerEventQueue.DISCONNECTED:
+				listener.disconnected(controller);
+				break;
+			case ControllerEventQueue.BUTTON_DOWN:
+				listener.buttonDown(controller, code, queue.getCaptureNanos());
+				break;
+			case ControllerEventQueue.BUTTON_UP:
+				listener.buttonUp(controller, code, queue.getCaptureNanos());
+				break;
+			case ControllerEventQueue.AXIS_MOVED:
+				listener.axisMoved(controller, code, queue.getValue(), queue.getCaptureNanos());
+				break;
+			case AXIS_PENDING:
+				PendingAxes pending = ((PendingAxes.Owner)controller).getPendingAxes();
+				// takes the latest value, after this the producer queues a new event for the next one
+				pending.flags.getAndSet(code, 0);
+				listener.axisMoved(controller, code, pending.values[code], pending.captureNanos[code]);
+				break;
+			default:
+			}
+		}
+		return count;
+	}
+
+	/** @return the number of queued events */
+	public int size () {
+		return queue.size();
+	}
+
+	/** @return the number of events dropped because the queue was full, since it was created */
+	public long getDroppedCount () {
+		return queue.getDroppedCount();
+	}
+
+	public int capacity () {
+		return queue.capacity();
+	}
+}
@@ -0,0 +1,139 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Bounded queue of controller events from exactly one producer thread to exactly one consumer
+ * thread, without locks. Events are stored in a ring of parallel arrays, so neither side allocates.
+ * <p>
+ * The producer calls {@link #offer(Controller, int, int, float, long)}, which drops the new event
+ * instead of overwriting queued ones when the queue is full, and counts it in
+ * {@link #getDroppedCount()}. Producers that must not lose events check {@link #remaining()} before
+ * sampling. The consumer calls {@link #next()} and then reads the
+ * event with the getters, until {@link #next()} returns false.
+ */
+public class ControllerEventQueue {
+	public static final int CONNECTED = 0;
+	public static final int DISCONNECTED = 1;
+	public static final int BUTTON_DOWN = 2;
+	public static final int BUTTON_UP = 3;
+	public static final int AXIS_MOVED = 4;
+
+	private final int mask;
+	private final Controller[] controllers;
+	private final int[] types;
+	private final int[] codes;
+	private final float[] values;
+	private final long[] timeNanos;
+
+	// index of the next event to write, only written by the producer
+	private volatile int tail;
+	// index of the next event to read, only written by the consumer
+	private volatile int head;
+	// events not added because the queue was full, only written by the producer
+	private volatile long dropped;
+
+	// the event last returned by next(), only used by the consumer
+	private Controller controller;
+	private int type;
+	private int code;
+	private float value;
+	private long time;
+
+	/** @param capacity the maximum number of queued events, rounded up to a power of two */
+	public ControllerEventQueue (int capacity) {
+		int size = 1;
+		while (size < capacity)
+			size <<= 1;
+		mask = size - 1;
+		controllers = new Controller[size];
+		types = new int[size];
+		codes = new int[size];
+		values = new float[size];
+		timeNanos = new long[size];
+	}
+
+	/**
+	 * Adds an event, only called by the producer thread.
+	 * @param type one of {@link #CONNECTED}, {@link #DISCONNECTED}, {@link #BUTTON_DOWN}, {@link #BUTTON_UP} or {@link #AXIS_MOVED}
+	 * @param captureNanos when the input was captured, see {@link TimedControllerListener}
+	 * @return false if the queue is full and the event was not added
+	 */
+	public boolean offer (Controller controller, int type, int code, float value, long captureNanos) {
+		int index = tail;
+		if (index - head > mask) {
+			dropped++;
+			return false;
+		}
+
+		int slot = index & mask;
+		controllers[slot] = controller;
+		types[slot] = type;
+		codes[slot] = code;
+		values[slot] = value;
+		timeNanos[slot] = captureNanos;
+		// publishes the event to the consumer
+		tail = index + 1;
+		return true;
+	}
+
+	/**
+	 * Advances to the next event, only called by the consumer thread. The event can be read with
+	 * the getters until the next call.
+	 * @return false if the queue is empty
+	 */
+	public boolean next () {
+		int index = head;
+		if (index == tail)
+			return false;
+
+		int slot = index & mask;
+		controller = controllers[slot];
+		type = types[slot];
+		code = codes[slot];
+		value = values[slot];
+		time = timeNanos[slot];
+		controllers[slot] = null;
+		// hands the slot back to the producer
+		head = index + 1;
+		return true;
+	}
+
+	public Controller getController () {
+		return controller;
+	}
+
+	public int getType () {
+		return type;
+	}
+
+	public int getCode () {
+		return code;
+	}
+
+	/** @return the axis value of an {@link #AXIS_MOVED} event */
+	public float getValue () {
+		return value;
+	}
+
+	public long getCaptureNanos () {
+		return time;
+	}
+
+	/** @return the number of events that can be offered before the queue is full */
+	public int remaining () {
+		return mask + 1 - (tail - head);
+	}
+
+	/** @return the number of queued events */
+	public int size () {
+		return tail - head;
+	}
+
+	/** @return the number of events dropped because the queue was full, since it was created */
+	public long getDroppedCount () {
+		return dropped;
+	}
+
+	public int capacity () {
+		return mask + 1;
+	}
+}
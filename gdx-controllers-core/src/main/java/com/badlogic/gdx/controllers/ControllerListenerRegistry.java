@@ -0,0 +1,391 @@
+package com.badlogic.gdx.controllers;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
+/**
+ * Copy-on-write list of {@link ControllerListener}s. Adding and removing listeners copies the
+ * backing array, dispatching an event only reads the current snapshot and therefore does not lock
+ * or allocate. This makes it safe to add or remove listeners from within a callback, or from another
+ * thread while events are dispatched.
+ * <p>
+ * The registry keeps one dispatch array per event type. Listeners extending {@link ControllerAdapter}
+ * are only put into the arrays of the callbacks they override, so events skip the empty defaults.
+ * Listeners added with a {@link ListenerFilter} are skipped for button and axis codes the filter
+ * does not accept.
+ * <p>
+ * The registry itself is a {@link ControllerListener}: button and axis events are handed to the
+ * listeners in registration order until one of them returns true. A registry created with
+ * {@link ControllerMetrics} counts the events and times every listener it calls.
+ * <p>
+ * {@link TimedControllerListener}s receive the capture time passed to the timed dispatch methods.
+ * Events dispatched without a capture time are stamped when they reach the first timed listener.
+ */
+public class ControllerListenerRegistry implements TimedControllerListener {
+	static final int CONNECTED = 1;
+	static final int DISCONNECTED = 1 << 1;
+	static final int BUTTON_DOWN = 1 << 2;
+	static final int BUTTON_UP = 1 << 3;
+	static final int AXIS_MOVED = 1 << 4;
+	static final int ALL_EVENTS = CONNECTED | DISCONNECTED | BUTTON_DOWN | BUTTON_UP | AXIS_MOVED;
+
+	private static final ControllerListener[] EMPTY = new ControllerListener[0];
+	private static final ListenerFilter[] NO_FILTERS = new ListenerFilter[0];
+	private static final TimedControllerListener[] NO_TIMED = new TimedControllerListener[0];
+	private static final long UNKNOWN_TIME = Long.MIN_VALUE;
+	private static final Snapshot EMPTY_SNAPSHOT = new Snapshot();
+	// events overridden per ControllerAdapter subclass, filled on registration
+	private static final ObjectMap<Class, Integer> handledEventsByType = new ObjectMap<>();
+
+	private final Array<ControllerListener> listeners = new Array<>();
+	// filter of the listener at the same index, null for unfiltered listeners
+	private final Array<ListenerFilter> filters = new Array<>();
+	private volatile Snapshot snapshot = EMPTY_SNAPSHOT;
+	private final ControllerMetrics metrics;
+
+	public ControllerListenerRegistry () {
+		this(null);
+	}
+
+	/** @param metrics metrics to report dispatched events to, or null */
+	public ControllerListenerRegistry (ControllerMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public void add (ControllerListener listener) {
+		add(listener, null);
+	}
+
+	/**
+	 * Adds a listener that only receives button and axis events accepted by the filter
+	 *
+	 * @param filter the filter, or null to receive all events
+	 */
+	public void add (ControllerListener listener, ListenerFilter filter) {
+		synchronized (listeners) {
+			listeners.add(listener);
+			filters.add(filter);
+			update();
+		}
+	}
+
+	/**
+	 * Adds the listener if it is not already registered
+	 *
+	 * @return true if the listener was added
+	 */
+	public boolean addIfAbsent (ControllerListener listener) {
+		return addIfAbsent(listener, null);
+	}
+
+	/**
+	 * Adds the listener with the given filter if it is not already registered
+	 *
+	 * @return true if the listener was added
+	 */
+	public boolean addIfAbsent (ControllerListener listener, ListenerFilter filter) {
+		synchronized (listeners) {
+			if (listeners.contains(listener, true))
+				return false;
+
+			add(listener, filter);
+			return true;
+		}
+	}
+
+	public boolean remove (ControllerListener listener) {
+		synchronized (listeners) {
+			int index = listeners.indexOf(listener, true);
+			if (index < 0)
+				return false;
+
+			listeners.removeIndex(index);
+			filters.removeIndex(index);
+			update();
+			return true;
+		}
+	}
+
+	public boolean contains (ControllerListener listener) {
+		synchronized (listeners) {
+			return listeners.contains(listener, true);
+		}
+	}
+
+	public void clear () {
+		synchronized (listeners) {
+			listeners.clear();
+			filters.clear();
+			update();
+		}
+	}
+
+	public int size () {
+		return snapshot.size;
+	}
+
+	/**
+	 * @return a copy of the registered listeners, in registration order. Modifying it doesn't change
+	 * the registry, use {@link #add(ControllerListener)} and {@link #remove(ControllerListener)}.
+	 */
+	public Array<ControllerListener> getListeners () {
+		ControllerListener[] all = snapshot.all;
+		return new Array<>(true, all, 0, all.length);
+	}
+
+	private void update () {
+		if (listeners.size == 0) {
+			snapshot = EMPTY_SNAPSHOT;
+			return;
+		}
+
+		ControllerListener[] all = listeners.toArray(ControllerListener.class);
+
+		Array<ControllerListener> connected = new Array<>(ControllerListener.class);
+		Array<ControllerListener> disconnected = new Array<>(ControllerListener.class);
+		Array<ControllerListener> buttonDown = new Array<>(ControllerListener.class);
+		Array<ListenerFilter> buttonDownFilters = new Array<>(ListenerFilter.class);
+		Array<TimedControllerListener> buttonDownTimed = new Array<>(TimedControllerListener.class);
+		Array<ControllerListener> buttonUp = new Array<>(ControllerListener.class);
+		Array<ListenerFilter> buttonUpFilters = new Array<>(ListenerFilter.class);
+		Array<TimedControllerListener> buttonUpTimed = new Array<>(TimedControllerListener.class);
+		Array<ControllerListener> axisMoved = new Array<>(ControllerListener.class);
+		Array<ListenerFilter> axisMovedFilters = new Array<>(ListenerFilter.class);
+		Array<TimedControllerListener> axisMovedTimed = new Array<>(TimedControllerListener.class);
+		for (int i = 0; i < listeners.size; i++) {
+			ControllerListener listener = listeners.get(i);
+			ListenerFilter filter = filters.get(i);
+			TimedControllerListener timed = listener instanceof TimedControllerListener ? (TimedControllerListener)listener : null;
+			int events = getHandledEvents(listener);
+			if (filter != null) {
+				if (!filter.acceptsAnyButton()) events &= ~(BUTTON_DOWN | BUTTON_UP);
+				if (!filter.acceptsAnyAxis()) events &= ~AXIS_MOVED;
+			}
+
+			if ((events & CONNECTED) != 0) connected.add(listener);
+			if ((events & DISCONNECTED) != 0) disconnected.add(listener);
+			if ((events & BUTTON_DOWN) != 0) {
+				buttonDown.add(listener);
+				buttonDownFilters.add(filter);
+				buttonDownTimed.add(timed);
+			}
+			if ((events & BUTTON_UP) != 0) {
+				buttonUp.add(listener);
+				buttonUpFilters.add(filter);
+				buttonUpTimed.add(timed);
+			}
+			if ((events & AXIS_MOVED) != 0) {
+				axisMoved.add(listener);
+				axisMovedFilters.add(filter);
+				axisMovedTimed.add(timed);
+			}
+		}
+
+		Snapshot snapshot = new Snapshot();
+		snapshot.all = all;
+		snapshot.connected = toArray(connected);
+		snapshot.disconnected = toArray(disconnected);
+		snapshot.buttonDown = toArray(buttonDown);
+		snapshot.buttonDownFilters = toFilterArray(buttonDownFilters);
+		snapshot.buttonDownTimed = toTimedArray(buttonDownTimed);
+		snapshot.buttonUp = toArray(buttonUp);
+		snapshot.buttonUpFilters = toFilterArray(buttonUpFilters);
+		snapshot.buttonUpTimed = toTimedArray(buttonUpTimed);
+		snapshot.axisMoved = toArray(axisMoved);
+		snapshot.axisMovedFilters = toFilterArray(axisMovedFilters);
+		snapshot.axisMovedTimed = toTimedArray(axisMovedTimed);
+		snapshot.size = listeners.size;
+		this.snapshot = snapshot;
+	}
+
+	private static ControllerListener[] toArray (Array<ControllerListener> listeners) {
+		return listeners.size == 0 ? EMPTY : listeners.toArray(ControllerListener.class);
+	}
+
+	private static ListenerFilter[] toFilterArray (Array<ListenerFilter> filters) {
+		return filters.size == 0 ? NO_FILTERS : filters.toArray(ListenerFilter.class);
+	}
+
+	private static TimedControllerListener[] toTimedArray (Array<TimedControllerListener> timed) {
+		return timed.size == 0 ? NO_TIMED : timed.toArray(TimedControllerListener.class);
+	}
+
+	/**
+	 * @return bit mask of the callbacks the listener implements. For subclasses of
+	 * {@link ControllerAdapter}, only the callbacks overriding the adapter's empty defaults.
+	 */
+	static int getHandledEvents (ControllerListener listener) {
+		// timed listeners may implement only the timed callbacks
+		if (!(listener instanceof ControllerAdapter) || listener instanceof TimedControllerListener)
+			return ALL_EVENTS;
+
+		Class type = listener.getClass();
+		synchronized (handledEventsByType) {
+			Integer events = handledEventsByType.get(type);
+			if (events == null) {
+				events = 0;
+				if (overridesAdapter(type, "connected", Controller.class)) events |= CONNECTED;
+				if (overridesAdapter(type, "disconnected", Controller.class)) events |= DISCONNECTED;
+				if (overridesAdapter(type, "buttonDown", Controller.class, int.class)) events |= BUTTON_DOWN;
+				if (overridesAdapter(type, "buttonUp", Controller.class, int.class)) events |= BUTTON_UP;
+				if (overridesAdapter(type, "axisMoved", Controller.class, int.class, float.class)) events |= AXIS_MOVED;
+				handledEventsByType.put(type, events);
+			}
+			return events;
+		}
+	}
+
+	private static boolean overridesAdapter (Class type, String method, Class... parameterTypes) {
+		try {
+			return ClassReflection.getMethod(type, method, parameterTypes).getDeclaringClass() != ControllerAdapter.class;
+		} catch (Exception e) {
+			// no reflection information available (e.g. on GWT), dispatch every event to be safe
+			return true;
+		}
+	}
+
+	@Override
+	public void connected (Controller controller) {
+		ControllerListener[] listeners = snapshot.connected;
+		ControllerMetrics metrics = this.metrics;
+		long time = metrics != null ? metrics.eventStarted(ControllerMetrics.CONNECTED) : 0;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			listeners[i].connected(controller);
+			if (metrics != null)
+				time = metrics.listenerFinished(listeners[i], time);
+		}
+	}
+
+	@Override
+	public void disconnected (Controller controller) {
+		ControllerListener[] listeners = snapshot.disconnected;
+		ControllerMetrics metrics = this.metrics;
+		long time = metrics != null ? metrics.eventStarted(ControllerMetrics.DISCONNECTED) : 0;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			listeners[i].disconnected(controller);
+			if (metrics != null)
+				time = metrics.listenerFinished(listeners[i], time);
+		}
+	}
+
+	@Override
+	public boolean buttonDown (Controller controller, int buttonCode) {
+		return buttonDown(controller, buttonCode, UNKNOWN_TIME);
+	}
+
+	@Override
+	public boolean buttonDown (Controller controller, int buttonCode, long captureNanos) {
+		Snapshot snapshot = this.snapshot;
+		ControllerListener[] listeners = snapshot.buttonDown;
+		ListenerFilter[] filters = snapshot.buttonDownFilters;
+		TimedControllerListener[] timed = snapshot.buttonDownTimed;
+		ControllerMetrics metrics = this.metrics;
+		long time = metrics != null ? metrics.eventStarted(ControllerMetrics.BUTTON_DOWN) : 0;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			ListenerFilter filter = filters[i];
+			if (filter != null && !filter.acceptsButton(buttonCode))
+				continue;
+			boolean handled;
+			if (timed[i] != null) {
+				if (captureNanos == UNKNOWN_TIME)
+					captureNanos = TimeUtils.nanoTime();
+				handled = timed[i].buttonDown(controller, buttonCode, captureNanos);
+			} else {
+				handled = listeners[i].buttonDown(controller, buttonCode);
+			}
+			if (metrics != null)
+				time = metrics.listenerFinished(listeners[i], time);
+			if (handled)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean buttonUp (Controller controller, int buttonCode) {
+		return buttonUp(controller, buttonCode, UNKNOWN_TIME);
+	}
+
+	@Override
+	public boolean buttonUp (Controller controller, int buttonCode, long captureNanos) {
+		Snapshot snapshot = this.snapshot;
+		ControllerListener[] listeners = snapshot.buttonUp;
+		ListenerFilter[] filters = snapshot.buttonUpFilters;
+		TimedControllerListener[] timed = snapshot.buttonUpTimed;
+		ControllerMetrics metrics = this.metrics;
+		long time = metrics != null ? metrics.eventStarted(ControllerMetrics.BUTTON_UP) : 0;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			ListenerFilter filter = filters[i];
+			if (filter != null && !filter.acceptsButton(buttonCode))
+				continue;
+			boolean handled;
+			if (timed[i] != null) {
+				if (captureNanos == UNKNOWN_TIME)
+					captureNanos = TimeUtils.nanoTime();
+				handled = timed[i].buttonUp(controller, buttonCode, captureNanos);
+			} else {
+				handled = listeners[i].buttonUp(controller, buttonCode);
+			}
+			if (metrics != null)
+				time = metrics.listenerFinished(listeners[i], time);
+			if (handled)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean axisMoved (Controller controller, int axisCode, float value) {
+		return axisMoved(controller, axisCode, value, UNKNOWN_TIME);
+	}
+
+	@Override
+	public boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos) {
+		Snapshot snapshot = this.snapshot;
+		ControllerListener[] listeners = snapshot.axisMoved;
+		ListenerFilter[] filters = snapshot.axisMovedFilters;
+		TimedControllerListener[] timed = snapshot.axisMovedTimed;
+		ControllerMetrics metrics = this.metrics;
+		long time = metrics != null ? metrics.eventStarted(ControllerMetrics.AXIS_MOVED) : 0;
+		for (int i = 0, n = listeners.length; i < n; i++) {
+			ListenerFilter filter = filters[i];
+			if (filter != null && !filter.acceptsAxis(axisCode))
+				continue;
+			boolean handled;
+			if (timed[i] != null) {
+				if (captureNanos == UNKNOWN_TIME)
+					captureNanos = TimeUtils.nanoTime();
+				handled = timed[i].axisMoved(controller, axisCode, value, captureNanos);
+			} else {
+				handled = listeners[i].axisMoved(controller, axisCode, value);
+			}
+			if (metrics != null)
+				time = metrics.listenerFinished(listeners[i], time);
+			if (handled)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Dispatch arrays, replaced as a whole when the listeners change and never modified after being
+	 * published. The filter arrays run parallel to the listener arrays.
+	 */
+	private static class Snapshot {
+		ControllerListener[] all = EMPTY;
+		ControllerListener[] connected = EMPTY;
+		ControllerListener[] disconnected = EMPTY;
+		ControllerListener[] buttonDown = EMPTY;
+		ListenerFilter[] buttonDownFilters = NO_FILTERS;
+		TimedControllerListener[] buttonDownTimed = NO_TIMED;
+		ControllerListener[] buttonUp = EMPTY;
+		ListenerFilter[] buttonUpFilters = NO_FILTERS;
+		TimedControllerListener[] buttonUpTimed = NO_TIMED;
+		ControllerListener[] axisMoved = EMPTY;
+		ListenerFilter[] axisMovedFilters = NO_FILTERS;
+		TimedControllerListener[] axisMovedTimed = NO_TIMED;
+		int size;
+	}
+}
@@ -0,0 +1,195 @@
+package com.badlogic.gdx.controllers;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Counters of the input pipeline of a {@link ControllerManager}: events per type, event queue
+ * depth, time spent draining queues and dispatching to listeners, and the slowest listener of the
+ * last frame. Get the metrics of the active manager with {@link Controllers#getMetrics()}.
+ * <p>
+ * Managers report into the metrics from the rendering thread, the global
+ * {@link ControllerListenerRegistry} times every listener it calls. Reporting neither locks nor
+ * allocates, so metrics can stay enabled in production. Read them with
+ * {@link #getSnapshot(Snapshot)} on the rendering thread, for example once per second, and ship the
+ * snapshot from there.
+ */
+public class ControllerMetrics {
+	public static final int CONNECTED = 0;
+	public static final int DISCONNECTED = 1;
+	public static final int BUTTON_DOWN = 2;
+	public static final int BUTTON_UP = 3;
+	public static final int AXIS_MOVED = 4;
+	public static final int EVENT_TYPES = 5;
+
+	private static final long RATE_WINDOW_NANOS = 1000000000L;
+
+	/** Set to false to skip timing individual listeners, events are still counted */
+	public boolean timeListeners = true;
+
+	private final long[] eventCounts = new long[EVENT_TYPES];
+	private final long[] windowStartCounts = new long[EVENT_TYPES];
+	private final float[] eventsPerSecond = new float[EVENT_TYPES];
+	private long windowStartNanos = -1;
+
+	private int queueDepth;
+	private int maxQueueDepth;
+
+	private long lastDrainNanos;
+	private long maxDrainNanos;
+	private long totalDrainNanos;
+	private long drains;
+
+	private long frameDispatchNanos;
+	private long lastFrameDispatchNanos;
+	private long maxFrameDispatchNanos;
+	private long totalDispatchNanos;
+
+	private ControllerListener frameSlowestListener;
+	private long frameSlowestListenerNanos;
+	private ControllerListener lastSlowestListener;
+	private long lastSlowestListenerNanos;
+
+	private long frames;
+	private long droppedEvents;
+
+	/**
+	 * Counts an event dispatched to the global listeners
+	 *
+	 * @param type one of the event type constants
+	 * @return the time to pass to {@link #listenerFinished(ControllerListener, long)}
+	 */
+	public long eventStarted (int type) {
+		eventCounts[type]++;
+		return timeListeners ? TimeUtils.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the time a listener took to handle an event
+	 *
+	 * @param startNanos the time returned by {@link #eventStarted(int)} or by the previous call
+	 * @return the time to pass with the next listener of the same event
+	 */
+	public long listenerFinished (ControllerListener listener, long startNanos) {
+		if (!timeListeners)
+			return 0;
+
+		long now = TimeUtils.nanoTime();
+		long nanos = now - startNanos;
+		frameDispatchNanos += nanos;
+		totalDispatchNanos += nanos;
+		if (nanos > frameSlowestListenerNanos || frameSlowestListener == null) {
+			frameSlowestListener = listener;
+			frameSlowestListenerNanos = nanos;
+		}
+		return now;
+	}
+
+	/** @return the time to pass to {@link #drainFinished(long, int)} */
+	public long drainStarted () {
+		return TimeUtils.nanoTime();
+	}
+
+	/**
+	 * Records a drain of the event queue, including the dispatch of the drained events
+	 *
+	 * @param queueDepth the number of events that were drained
+	 */
+	public void drainFinished (long startNanos, int queueDepth) {
+		long nanos = TimeUtils.nanoTime() - startNanos;
+		lastDrainNanos = nanos;
+		totalDrainNanos += nanos;
+		if (nanos > maxDrainNanos)
+			maxDrainNanos = nanos;
+		drains++;
+
+		this.queueDepth = queueDepth;
+		if (queueDepth > maxQueueDepth)
+			maxQueueDepth = queueDepth;
+	}
+
+	/**
+	 * Records the events dropped by a bounded event queue that was full
+	 *
+	 * @param droppedEvents the number of events dropped since the manager was created
+	 */
+	public void droppedEvents (long droppedEvents) {
+		this.droppedEvents = droppedEvents;
+	}
+
+	/** Ends the current frame, called once per frame by the manager after it dispatched all events */
+	public void frameFinished () {
+		frames++;
+		lastFrameDispatchNanos = frameDispatchNanos;
+		if (frameDispatchNanos > maxFrameDispatchNanos)
+			maxFrameDispatchNanos = frameDispatchNanos;
+		lastSlowestListener = frameSlowestListener;
+		lastSlowestListenerNanos = frameSlowestListenerNanos;
+		frameDispatchNanos = 0;
+		frameSlowestListener = null;
+		frameSlowestListenerNanos = 0;
+
+		long now = TimeUtils.nanoTime();
+		if (windowStartNanos < 0) {
+			windowStartNanos = now;
+		} else if (now - windowStartNanos >= RATE_WINDOW_NANOS) {
+			float seconds = (now - windowStartNanos) / 1000000000f;
+			for (int i = 0; i < EVENT_TYPES; i++) {
+				eventsPerSecond[i] = (eventCounts[i] - windowStartCounts[i]) / seconds;
+				windowStartCounts[i] = eventCounts[i];
+			}
+			windowStartNanos = now;
+		}
+	}
+
+	/** Resets the maximum values, for example after shipping a snapshot */
+	public void resetMaxima () {
+		maxQueueDepth = 0;
+		maxDrainNanos = 0;
+		maxFrameDispatchNanos = 0;
+	}
+
+	/** Copies the current values into the snapshot and returns it */
+	public Snapshot getSnapshot (Snapshot out) {
+		System.arraycopy(eventCounts, 0, out.eventCounts, 0, EVENT_TYPES);
+		System.arraycopy(eventsPerSecond, 0, out.eventsPerSecond, 0, EVENT_TYPES);
+		out.queueDepth = queueDepth;
+		out.maxQueueDepth = maxQueueDepth;
+		out.lastDrainNanos = lastDrainNanos;
+		out.maxDrainNanos = maxDrainNanos;
+		out.totalDrainNanos = totalDrainNanos;
+		out.drains = drains;
+		out.lastFrameDispatchNanos = lastFrameDispatchNanos;
+		out.maxFrameDispatchNanos = maxFrameDispatchNanos;
+		out.totalDispatchNanos = totalDispatchNanos;
+		out.slowestListener = lastSlowestListener;
+		out.slowestListenerNanos = lastSlowestListenerNanos;
+		out.frames = frames;
+		out.droppedEvents = droppedEvents;
+		return out;
+	}
+
+	/** Values of {@link ControllerMetrics} at one point in time. Reuse an instance to avoid allocation. */
+	public static class Snapshot {
+		/** Total events per type since the manager was created, indexed by the event type constants */
+		public final long[] eventCounts = new long[EVENT_TYPES];
+		/** Events per second per type, measured over the last completed second */
+		public final float[] eventsPerSecond = new float[EVENT_TYPES];
+		/** Events in the queue at the last drain, and the maximum seen */
+		public int queueDepth;
+		public int maxQueueDepth;
+		public long lastDrainNanos;
+		public long maxDrainNanos;
+		public long totalDrainNanos;
+		public long drains;
+		/** Time spent in global listeners in the last frame, the maximum of a frame, and in total */
+		public long lastFrameDispatchNanos;
+		public long maxFrameDispatchNanos;
+		public long totalDispatchNanos;
+		/** The global listener taking longest for a single event in the last frame, or null */
+		public ControllerListener slowestListener;
+		public long slowestListenerNanos;
+		public long frames;
+		/** Events dropped because the event queue was full, since the manager was created */
+		public long droppedEvents;
+	}
+}
@@ -0,0 +1,137 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Snapshot of the buttons and axes of a {@link Controller}, filled by
+ * {@link Controller#getState(ControllerState)}. Pressed buttons are kept in a bitset of longs,
+ * indexed by button code, axis values in a float array indexed by axis code.
+ * <p>
+ * Keep one instance per controller and refill it every frame: after the first fill, refilling
+ * an instance for the same controller does not allocate.
+ */
+public class ControllerState {
+	private long[] buttons = new long[1];
+	private float[] axes = new float[0];
+	private int maxButtonIndex = -1;
+	private int axisCount;
+
+	/**
+	 * Clears all buttons and axes and makes room for the given button and axis range. Called by
+	 * {@link Controller} implementations before they fill this state.
+	 */
+	public void reset (int maxButtonIndex, int axisCount) {
+		int words = (Math.max(maxButtonIndex, 0) >>> 6) + 1;
+		if (buttons.length < words)
+			buttons = new long[words];
+		else
+			for (int i = 0; i < buttons.length; i++)
+				buttons[i] = 0;
+
+		if (axes.length < axisCount)
+			axes = new float[axisCount];
+		else
+			for (int i = 0; i < axes.length; i++)
+				axes[i] = 0;
+
+		this.maxButtonIndex = maxButtonIndex;
+		this.axisCount = axisCount;
+	}
+
+	/** Copies the state of another instance into this one */
+	public void set (ControllerState state) {
+		reset(state.maxButtonIndex, state.axisCount);
+		System.arraycopy(state.buttons, 0, buttons, 0, Math.min(buttons.length, state.buttons.length));
+		System.arraycopy(state.axes, 0, axes, 0, state.axisCount);
+	}
+
+	public void setButton (int buttonCode, boolean pressed) {
+		if (buttonCode < 0)
+			return;
+
+		int word = buttonCode >>> 6;
+		if (word >= buttons.length) {
+			if (!pressed)
+				return;
+			long[] newButtons = new long[word + 1];
+			System.arraycopy(buttons, 0, newButtons, 0, buttons.length);
+			buttons = newButtons;
+		}
+
+		if (pressed)
+			buttons[word] |= 1L << (buttonCode & 63);
+		else
+			buttons[word] &= ~(1L << (buttonCode & 63));
+
+		if (buttonCode > maxButtonIndex)
+			maxButtonIndex = buttonCode;
+	}
+
+	/** Sets 64 buttons at once, starting at button code {@code wordIndex * 64}, see {@link #getButtonBits(int)} */
+	public void setButtonBits (int wordIndex, long bits) {
+		if (wordIndex < 0)
+			return;
+
+		if (wordIndex >= buttons.length) {
+			if (bits == 0)
+				return;
+			long[] newButtons = new long[wordIndex + 1];
+			System.arraycopy(buttons, 0, newButtons, 0, buttons.length);
+			buttons = newButtons;
+		}
+		buttons[wordIndex] = bits;
+
+		if (bits != 0) {
+			int highestButton = (wordIndex << 6) + 63 - Long.numberOfLeadingZeros(bits);
+			if (highestButton > maxButtonIndex)
+				maxButtonIndex = highestButton;
+		}
+	}
+
+	public void setAxis (int axisCode, float value) {
+		if (axisCode < 0 || axisCode >= axisCount)
+			return;
+		axes[axisCode] = value;
+	}
+
+	/** @return whether the button was pressed when this state was filled */
+	public boolean getButton (int buttonCode) {
+		if (buttonCode < 0)
+			return false;
+
+		int word = buttonCode >>> 6;
+		return word < buttons.length && (buttons[word] & (1L << (buttonCode & 63))) != 0;
+	}
+
+	/** @return the axis value when this state was filled, between -1 and 1 */
+	public float getAxis (int axisCode) {
+		if (axisCode < 0 || axisCode >= axisCount)
+			return 0;
+		return axes[axisCode];
+	}
+
+	/** @return true if at least one button was pressed */
+	public boolean anyButtonPressed () {
+		for (int i = 0; i < buttons.length; i++) {
+			if (buttons[i] != 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return 64 button bits starting at button code {@code wordIndex * 64}. Bit n is set if button
+	 * {@code wordIndex * 64 + n} is pressed.
+	 */
+	public long getButtonBits (int wordIndex) {
+		return wordIndex >= 0 && wordIndex < buttons.length ? buttons[wordIndex] : 0;
+	}
+
+	/** @return the maximum button code this state covers */
+	public int getMaxButtonIndex () {
+		return maxButtonIndex;
+	}
+
+	/** @return the number of axes this state covers */
+	public int getAxisCount () {
+		return axisCount;
+	}
+}
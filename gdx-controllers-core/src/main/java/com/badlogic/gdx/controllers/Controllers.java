@@ -65,6 +65,18 @@ public class Controllers {
 		getManager().addListener(listener);
 	}
 
+	/** Add a global {@link ControllerListener} that only receives the button and axis events accepted by the filter. Connection
+	 * events are always delivered. Only supported by managers extending {@link AbstractControllerManager}, which all backends do.
+	 * @param listener
+	 * @param filter the button and axis codes the listener is interested in */
+	static public void addListener (ControllerListener listener, ListenerFilter filter) {
+		initialize();
+		ControllerManager manager = getManager();
+		if (!(manager instanceof AbstractControllerManager))
+			throw new GdxRuntimeException("Listener filters are not supported by " + manager.getClass().getName());
+		((AbstractControllerManager)manager).addListener(listener, filter);
+	}
+
 	/** Removes a global {@link ControllerListener}. The method must be called on the rendering thread.
 	 * @param listener */
 	static public void removeListener (ControllerListener listener) {
@@ -78,13 +90,56 @@ public class Controllers {
 		getManager().clearListeners();
 	}
 	
-	/** Returns all listeners currently registered. Modifying this array will result in undefined behaviour. **/
+	/** Returns a copy of all listeners currently registered. Modifying it doesn't add or remove listeners. **/
 	static public Array<ControllerListener> getListeners() {
 		initialize();
 		return getManager().getListeners();
 	}
 
-	static private ControllerManager getManager () {
+	/** @return the lock-free registry of global listeners, or null if the active manager does not keep one */
+	static ControllerListenerRegistry getListenerRegistry () {
+		initialize();
+		ControllerManager manager = getManager();
+		return manager instanceof AbstractControllerManager ? ((AbstractControllerManager)manager).getListenerRegistry() : null;
+	}
+
+	/**
+	 * Edge queries compare the pressed buttons of this frame against the previous frame. The backend
+	 * updates both once per frame, before {@link com.badlogic.gdx.ApplicationListener#render()}.
+	 *
+	 * @return whether the button was pressed in this frame, but not in the previous one. Always false
+	 *         for controllers that don't implement {@link ButtonFrameState.Owner}.
+	 */
+	static public boolean isButtonJustPressed (Controller controller, int buttonCode) {
+		return controller instanceof ButtonFrameState.Owner
+			&& ((ButtonFrameState.Owner)controller).getButtonFrames().isButtonJustPressed(buttonCode);
+	}
+
+	/** @return whether the button was pressed in the previous frame, but is not in this one
+	 * @see #isButtonJustPressed(Controller, int) */
+	static public boolean isButtonJustReleased (Controller controller, int buttonCode) {
+		return controller instanceof ButtonFrameState.Owner
+			&& ((ButtonFrameState.Owner)controller).getButtonFrames().isButtonJustReleased(buttonCode);
+	}
+
+	/** @return whether any button was pressed in this frame, but not in the previous one
+	 * @see #isButtonJustPressed(Controller, int) */
+	static public boolean anyButtonJustPressed (Controller controller) {
+		return controller instanceof ButtonFrameState.Owner
+			&& ((ButtonFrameState.Owner)controller).getButtonFrames().anyButtonJustPressed();
+	}
+
+	/** @return the metrics of the active manager's input pipeline, or null if the manager doesn't report metrics */
+	static public ControllerMetrics getMetrics () {
+		initialize();
+		ControllerManager manager = getManager();
+		return manager instanceof AbstractControllerManager ? ((AbstractControllerManager)manager).getMetrics() : null;
+	}
+
+	/** @return the manager of the current application, to access backend specific features, e.g. the input thread listeners of
+	 *         the Android backend */
+	static public ControllerManager getManager () {
+		initialize();
 		return managers.get(Gdx.app);
 	}
 
@@ -105,6 +160,8 @@ public class Controllers {
 			className = "com.badlogic.gdx.controllers.gwt.GwtControllers";
 		} else if (type == ApplicationType.iOS) {
 			className = "com.badlogic.gdx.controllers.IosControllerManager";
+		} else if (type == ApplicationType.HeadlessDesktop) {
+			manager = new VirtualControllerManager();
 		} else {
 			Gdx.app.log(TAG, "No controller manager is available for: " + Gdx.app.getType());
 			manager = new ControllerManagerStub();
@@ -0,0 +1,87 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Button and axis codes a {@link ControllerListener} is interested in, see
+ * {@link Controllers#addListener(ControllerListener, ListenerFilter)}. Codes are kept in bitsets,
+ * so skipping a listener during dispatch costs a single bit test. Connection events are always
+ * delivered.
+ * <p>
+ * A new filter accepts no buttons and no axes. Don't change a filter after registering it.
+ */
+public class ListenerFilter {
+	private long[] buttons = new long[1];
+	private long[] axes = new long[1];
+	private boolean allButtons;
+	private boolean allAxes;
+
+	/** Accepts events of the given button codes */
+	public ListenerFilter buttons (int... buttonCodes) {
+		for (int buttonCode : buttonCodes)
+			buttons = set(buttons, buttonCode);
+		return this;
+	}
+
+	/** Accepts events of the given axis codes */
+	public ListenerFilter axes (int... axisCodes) {
+		for (int axisCode : axisCodes)
+			axes = set(axes, axisCode);
+		return this;
+	}
+
+	/** Accepts events of every button */
+	public ListenerFilter allButtons () {
+		allButtons = true;
+		return this;
+	}
+
+	/** Accepts events of every axis */
+	public ListenerFilter allAxes () {
+		allAxes = true;
+		return this;
+	}
+
+	public boolean acceptsButton (int buttonCode) {
+		return allButtons || isSet(buttons, buttonCode);
+	}
+
+	public boolean acceptsAxis (int axisCode) {
+		return allAxes || isSet(axes, axisCode);
+	}
+
+	/** @return true if at least one button code is accepted */
+	public boolean acceptsAnyButton () {
+		return allButtons || isAnySet(buttons);
+	}
+
+	/** @return true if at least one axis code is accepted */
+	public boolean acceptsAnyAxis () {
+		return allAxes || isAnySet(axes);
+	}
+
+	private static long[] set (long[] bits, int code) {
+		if (code < 0)
+			throw new IllegalArgumentException("code must not be negative: " + code);
+
+		int word = code >>> 6;
+		if (word >= bits.length) {
+			long[] newBits = new long[word + 1];
+			System.arraycopy(bits, 0, newBits, 0, bits.length);
+			bits = newBits;
+		}
+		bits[word] |= 1L << (code & 63);
+		return bits;
+	}
+
+	private static boolean isSet (long[] bits, int code) {
+		int word = code >>> 6;
+		return code >= 0 && word < bits.length && (bits[word] & (1L << (code & 63))) != 0;
+	}
+
+	private static boolean isAnySet (long[] bits) {
+		for (int i = 0; i < bits.length; i++) {
+			if (bits[i] != 0)
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,52 @@
+package com.badlogic.gdx.controllers;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Axis values of one controller that a {@link ControllerEventHandoff} coalesces while the consumer
+ * hasn't received them yet. The producer writes the latest value of an axis here and queues at most
+ * one event for it, the consumer reads the value when it gets to that event.
+ */
+public class PendingAxes {
+	// latest values not yet seen by the consumer, and their capture times
+	final float[] values;
+	final long[] captureNanos;
+	// a set flag means an event for the axis is queued, and it will read the value from here
+	final AtomicIntegerArray flags;
+	// the values last handed to the consumer, only used by the producer
+	private final float[] queued;
+
+	public PendingAxes (int axisCount) {
+		values = new float[axisCount];
+		captureNanos = new long[axisCount];
+		flags = new AtomicIntegerArray(axisCount);
+		queued = new float[axisCount];
+	}
+
+	/**
+	 * @return the value last handed to the consumer, only called by the producer. Compare new samples
+	 * with it, not with the consumer's axis state, which may not have seen the pending value yet.
+	 */
+	public float getQueuedValue (int axis) {
+		return queued[axis];
+	}
+
+	void setQueuedValue (int axis, float value) {
+		queued[axis] = value;
+	}
+
+	/** Centers the values last handed to the consumer, only called by the producer, for example when the device was removed */
+	public void clearQueuedValues () {
+		for (int i = 0; i < queued.length; i++)
+			queued[i] = 0;
+	}
+
+	public int size () {
+		return values.length;
+	}
+
+	/** A controller whose axis events can be coalesced */
+	public interface Owner {
+		PendingAxes getPendingAxes ();
+	}
+}
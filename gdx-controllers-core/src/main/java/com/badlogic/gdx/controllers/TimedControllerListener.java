@@ -0,0 +1,33 @@
+package com.badlogic.gdx.controllers;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * {@link ControllerListener} that also receives the time an event was captured, in the time base
+ * of {@link TimeUtils#nanoTime()}. The capture time is taken as close to the source as the backend
+ * allows: the time stamp of Android's input events, the Gamepad API's time stamp on GWT, or the
+ * time the desktop backend sampled the controller. Subtract it from {@link TimeUtils#nanoTime()} to
+ * get the input latency up to the listener.
+ * <p>
+ * Button and axis events are delivered to the timed callbacks only, the ones inherited from
+ * {@link ControllerListener} are not called for them.
+ */
+public interface TimedControllerListener extends ControllerListener {
+	/**
+	 * @param captureNanos the time the button press was captured
+	 * @see ControllerListener#buttonDown(Controller, int)
+	 */
+	boolean buttonDown (Controller controller, int buttonCode, long captureNanos);
+
+	/**
+	 * @param captureNanos the time the button release was captured
+	 * @see ControllerListener#buttonUp(Controller, int)
+	 */
+	boolean buttonUp (Controller controller, int buttonCode, long captureNanos);
+
+	/**
+	 * @param captureNanos the time the axis value was captured
+	 * @see ControllerListener#axisMoved(Controller, int, float)
+	 */
+	boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos);
+}
@@ -0,0 +1,85 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * A simulated {@link Controller} hosted by a {@link VirtualControllerManager}. Its buttons and
+ * axes live in the manager's flat arrays at {@link #getSlot()} and only change through the
+ * manager's injection methods.
+ */
+public class VirtualController extends AbstractController {
+	private final VirtualControllerManager manager;
+	private final int slot;
+	private final String name;
+	private final String uniqueId;
+	private final int minButtonIndex;
+	private final int maxButtonIndex;
+	private final int axisCount;
+
+	VirtualController (VirtualControllerManager manager, int slot, String name, String uniqueId, int minButtonIndex,
+		int maxButtonIndex, int axisCount) {
+		this.manager = manager;
+		this.slot = slot;
+		this.name = name;
+		this.uniqueId = uniqueId;
+		this.minButtonIndex = minButtonIndex;
+		this.maxButtonIndex = maxButtonIndex;
+		this.axisCount = axisCount;
+	}
+
+	/** @return the index of this controller's state in its manager, used to inject input */
+	public int getSlot () {
+		return slot;
+	}
+
+	@Override
+	public boolean getButton (int buttonCode) {
+		return isConnected() && manager.getButton(slot, buttonCode);
+	}
+
+	@Override
+	public float getAxis (int axisCode) {
+		return isConnected() ? manager.getAxis(slot, axisCode) : 0;
+	}
+
+	@Override
+	public ControllerState getState (ControllerState out) {
+		out.reset(getMaxButtonIndex(), getAxisCount());
+		if (isConnected())
+			manager.getState(slot, out);
+		return out;
+	}
+
+	@Override
+	public String getName () {
+		return name;
+	}
+
+	@Override
+	public String getUniqueId () {
+		return uniqueId;
+	}
+
+	@Override
+	public int getMinButtonIndex () {
+		return minButtonIndex;
+	}
+
+	@Override
+	public int getMaxButtonIndex () {
+		return maxButtonIndex;
+	}
+
+	@Override
+	public int getAxisCount () {
+		return axisCount;
+	}
+
+	@Override
+	public ControllerMapping getMapping () {
+		return manager.getMapping();
+	}
+
+	@Override
+	public ControllerPowerLevel getPowerLevel () {
+		return ControllerPowerLevel.POWER_WIRED;
+	}
+}
@@ -0,0 +1,243 @@
+package com.badlogic.gdx.controllers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * {@link ControllerManager} hosting simulated controllers, for example bots or load tests on a
+ * headless server. It is selected automatically for headless applications, or can be chosen
+ * through {@link Controllers#preferredManager}.
+ * <p>
+ * Controllers are added with {@link #connect(String)}. Their state is kept in flat primitive
+ * arrays indexed by {@link VirtualController#getSlot()}; changes are injected one by one with
+ * {@link #setButton(int, int, boolean)} and {@link #setAxis(int, int, float)}, or in bulk with
+ * {@link #inject(VirtualInputBatch)}. Only changes are dispatched to the listeners, the same way
+ * the hardware backends do. Injecting input does not allocate, injection and (dis)connecting must
+ * happen on the rendering thread.
+ * <p>
+ * By default, controllers have the button and axis layout of the desktop backend.
+ */
+public class VirtualControllerManager extends AbstractControllerManager {
+    public static final int DEFAULT_MAX_BUTTON_INDEX = 20;
+    public static final int DEFAULT_AXIS_COUNT = 6;
+    /** Mapping of the controllers of a manager created with the default constructor, the layout of the desktop backend */
+    public static final ControllerMapping DEFAULT_MAPPING = new VirtualControllerMapping();
+
+    private final int maxButtonIndex;
+    private final int axisCount;
+    private final int buttonWords;
+    private final ControllerMapping mapping;
+    private final Array<VirtualController> slots = new Array<>();
+    private final IntArray freeSlots = new IntArray();
+    private long[] buttons = new long[0];
+    private float[] axes = new float[0];
+    private int nextId;
+
+    public VirtualControllerManager() {
+        this(DEFAULT_MAX_BUTTON_INDEX, DEFAULT_AXIS_COUNT, DEFAULT_MAPPING);
+    }
+
+    /**
+     * @param mapping mapping returned by the controllers, may be null
+     */
+    public VirtualControllerManager(int maxButtonIndex, int axisCount, ControllerMapping mapping) {
+        this.maxButtonIndex = maxButtonIndex;
+        this.axisCount = axisCount;
+        this.buttonWords = (Math.max(maxButtonIndex, 0) >>> 6) + 1;
+        this.mapping = mapping;
+        listeners.add(new ManageCurrentControllerListener());
+        if (Gdx.app != null)
+            setupFrameTick();
+    }
+
+    private void setupFrameTick() {
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                update();
+                for (int i = 0; i < controllers.size; i++) {
+                    ((VirtualController) controllers.get(i)).nextFrame();
+                }
+                metrics.frameFinished();
+                Gdx.app.postRunnable(this);
+            }
+        });
+    }
+
+    /**
+     * Called once per frame before the edge queries of the controllers advance. Subclasses can
+     * inject input here.
+     */
+    protected void update() {
+    }
+
+    /**
+     * Makes room for the given number of controllers, so connecting them later doesn't grow the
+     * state arrays
+     */
+    public void ensureCapacity(int controllerCount) {
+        if (controllerCount * buttonWords > buttons.length) {
+            long[] newButtons = new long[controllerCount * buttonWords];
+            System.arraycopy(buttons, 0, newButtons, 0, buttons.length);
+            buttons = newButtons;
+        }
+        if (controllerCount * axisCount > axes.length) {
+            float[] newAxes = new float[controllerCount * axisCount];
+            System.arraycopy(axes, 0, newAxes, 0, axes.length);
+            axes = newAxes;
+        }
+    }
+
+    /**
+     * Connects a new controller with all buttons released and all axes centered, and notifies the
+     * listeners. Slots of disconnected controllers are reused.
+     */
+    public VirtualController connect(String name) {
+        return connect(name, 0, maxButtonIndex, axisCount);
+    }
+
+    /**
+     * Connects a new controller reporting a smaller button range or fewer axes than the manager
+     * supports, see {@link #connect(String)}
+     */
+    public VirtualController connect(String name, int minButtonIndex, int maxButtonIndex, int axisCount) {
+        if (maxButtonIndex > this.maxButtonIndex || axisCount > this.axisCount)
+            throw new IllegalArgumentException("Controller layout exceeds the manager's: " + maxButtonIndex + ", " + axisCount);
+
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.pop();
+        } else {
+            slot = slots.size;
+            slots.add(null);
+            if (slots.size * buttonWords > buttons.length || slots.size * axisCount > axes.length)
+                ensureCapacity(Math.max(slots.size, slots.size * 3 / 2));
+        }
+
+        clearSlot(slot);
+        VirtualController controller = new VirtualController(this, slot, name, "virtual-" + nextId++,
+                minButtonIndex, maxButtonIndex, axisCount);
+        slots.set(slot, controller);
+        controllers.add(controller);
+        listeners.connected(controller);
+        return controller;
+    }
+
+    /**
+     * Disconnects the controller and notifies the listeners. Its slot may be taken by the next
+     * connected controller.
+     */
+    public void disconnect(VirtualController controller) {
+        int slot = controller.getSlot();
+        if (slot >= slots.size || slots.get(slot) != controller)
+            return;
+
+        slots.set(slot, null);
+        freeSlots.add(slot);
+        controllers.removeValue(controller, true);
+        listeners.disconnected(controller);
+        controller.dispose();
+    }
+
+    /** @return the connected controller at the slot, or null */
+    public VirtualController getController(int slot) {
+        return slot >= 0 && slot < slots.size ? slots.get(slot) : null;
+    }
+
+    /**
+     * Changes a button of the controller at the slot, and notifies the listeners if its state
+     * changed. Injections for free slots or unknown button codes are ignored.
+     */
+    public void setButton(int slot, int buttonCode, boolean pressed) {
+        VirtualController controller = getController(slot);
+        if (controller == null || buttonCode < 0 || buttonCode > controller.getMaxButtonIndex())
+            return;
+
+        int word = slot * buttonWords + (buttonCode >>> 6);
+        long mask = 1L << (buttonCode & 63);
+        if (((buttons[word] & mask) != 0) == pressed)
+            return;
+
+        if (pressed) {
+            buttons[word] |= mask;
+            controller.notifyListenersButtonDown(listeners, buttonCode, TimeUtils.nanoTime());
+        } else {
+            buttons[word] &= ~mask;
+            controller.notifyListenersButtonUp(listeners, buttonCode, TimeUtils.nanoTime());
+        }
+    }
+
+    /**
+     * Changes an axis of the controller at the slot, and notifies the listeners if its value
+     * changed. Injections for free slots or unknown axis codes are ignored.
+     */
+    public void setAxis(int slot, int axisCode, float value) {
+        VirtualController controller = getController(slot);
+        if (controller == null || axisCode < 0 || axisCode >= controller.getAxisCount())
+            return;
+
+        int index = slot * axisCount + axisCode;
+        if (axes[index] == value)
+            return;
+
+        axes[index] = value;
+        controller.notifyListenersAxisMoved(listeners, axisCode, value, TimeUtils.nanoTime());
+    }
+
+    /** Injects all events of the batch in order. The batch is not cleared. */
+    public void inject(VirtualInputBatch batch) {
+        int[] types = batch.types;
+        int[] slots = batch.slots;
+        int[] codes = batch.codes;
+        float[] values = batch.values;
+        for (int i = 0, n = batch.size; i < n; i++) {
+            if (types[i] == VirtualInputBatch.BUTTON)
+                setButton(slots[i], codes[i], values[i] != 0);
+            else
+                setAxis(slots[i], codes[i], values[i]);
+        }
+    }
+
+    boolean getButton(int slot, int buttonCode) {
+        if (buttonCode < 0 || buttonCode > maxButtonIndex)
+            return false;
+        return (buttons[slot * buttonWords + (buttonCode >>> 6)] & (1L << (buttonCode & 63))) != 0;
+    }
+
+    float getAxis(int slot, int axisCode) {
+        if (axisCode < 0 || axisCode >= axisCount)
+            return 0;
+        return axes[slot * axisCount + axisCode];
+    }
+
+    void getState(int slot, ControllerState out) {
+        for (int i = 0; i < buttonWords; i++)
+            out.setButtonBits(i, buttons[slot * buttonWords + i]);
+        for (int i = 0, n = out.getAxisCount(); i < n; i++)
+            out.setAxis(i, axes[slot * axisCount + i]);
+    }
+
+    ControllerMapping getMapping() {
+        return mapping;
+    }
+
+    private void clearSlot(int slot) {
+        for (int i = 0; i < buttonWords; i++)
+            buttons[slot * buttonWords + i] = 0;
+        for (int i = 0; i < axisCount; i++)
+            axes[slot * axisCount + i] = 0;
+    }
+
+    /** Same layout as the desktop backend */
+    private static class VirtualControllerMapping extends ControllerMapping {
+        VirtualControllerMapping() {
+            super(0, 1, 2, 3,
+                    0, 1, 2, 3, 4, 6,
+                    9, UNDEFINED, 10, UNDEFINED,
+                    7, 8,
+                    11, 12, 13, 14);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.badlogic.gdx.controllers;
+
+/**
+ * Reusable list of input events for {@link VirtualControllerManager#inject(VirtualInputBatch)}.
+ * Events are stored in parallel primitive arrays that only grow, so refilling a batch of the same
+ * size every tick does not allocate.
+ */
+public class VirtualInputBatch {
+	static final int BUTTON = 0;
+	static final int AXIS = 1;
+
+	int[] types;
+	int[] slots;
+	int[] codes;
+	float[] values;
+	int size;
+
+	public VirtualInputBatch () {
+		this(64);
+	}
+
+	public VirtualInputBatch (int capacity) {
+		capacity = Math.max(capacity, 1);
+		types = new int[capacity];
+		slots = new int[capacity];
+		codes = new int[capacity];
+		values = new float[capacity];
+	}
+
+	/**
+	 * Adds a button change of the controller at the given slot, see
+	 * {@link VirtualController#getSlot()}
+	 */
+	public void addButton (int slot, int buttonCode, boolean pressed) {
+		add(BUTTON, slot, buttonCode, pressed ? 1 : 0);
+	}
+
+	/**
+	 * Adds an axis change of the controller at the given slot, see
+	 * {@link VirtualController#getSlot()}
+	 */
+	public void addAxis (int slot, int axisCode, float value) {
+		add(AXIS, slot, axisCode, value);
+	}
+
+	public int size () {
+		return size;
+	}
+
+	public void clear () {
+		size = 0;
+	}
+
+	private void add (int type, int slot, int code, float value) {
+		if (size == types.length)
+			grow(size << 1);
+
+		types[size] = type;
+		slots[size] = slot;
+		codes[size] = code;
+		values[size] = value;
+		size++;
+	}
+
+	private void grow (int capacity) {
+		int[] newTypes = new int[capacity];
+		int[] newSlots = new int[capacity];
+		int[] newCodes = new int[capacity];
+		float[] newValues = new float[capacity];
+		System.arraycopy(types, 0, newTypes, 0, size);
+		System.arraycopy(slots, 0, newSlots, 0, size);
+		System.arraycopy(codes, 0, newCodes, 0, size);
+		System.arraycopy(values, 0, newValues, 0, size);
+		types = newTypes;
+		slots = newSlots;
+		codes = newCodes;
+		values = newValues;
+	}
+}
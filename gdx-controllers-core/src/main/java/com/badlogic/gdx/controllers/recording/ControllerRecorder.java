@@ -0,0 +1,262 @@
+package com.badlogic.gdx.controllers.recording;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.TimedControllerListener;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener writing every controller event with a nanosecond timestamp to memory-mapped segment
+ * files named after a base path with the segment index appended. Button and axis events are
+ * stamped with the time the backend captured them, see {@link TimedControllerListener}, so a
+ * recording keeps the real spacing of the samples. Recordings are played back by
+ * {@link ReplayControllerManager}.
+ * <p>
+ * Events are copied into the mapped segment, which the operating system writes back to disk in
+ * the background. When a segment is full, recording continues in the next one, which has already
+ * been created and mapped on a background thread. Recording an event does not allocate. As the
+ * data lives in the page cache, events recorded up to a crash of the application are kept.
+ * <p>
+ * Add the recorder as the first global listener with {@link com.badlogic.gdx.controllers.Controllers#addListener(ControllerListener)},
+ * a listener returning true hides button and axis events from all listeners after it. Call
+ * {@link #dispose()} to finish the recording. Not available on GWT.
+ */
+public class ControllerRecorder implements TimedControllerListener, Disposable {
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	private final File base;
+	private final int segmentSize;
+	private final ObjectIntMap<Controller> controllerIds = new ObjectIntMap<>();
+	private final ExecutorService segmentExecutor;
+	private MappedByteBuffer segment;
+	private Future<MappedByteBuffer> nextSegment;
+	private int segmentIndex;
+	private int nextControllerId;
+	private boolean disposed;
+
+	public ControllerRecorder (File base) {
+		this(base, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * @param base path of the recording, segments are written next to it with the segment index
+	 *           appended
+	 * @param segmentSize size of a segment file in bytes
+	 */
+	public ControllerRecorder (File base, int segmentSize) {
+		if (segmentSize < RecordingFormat.RECORD_SIZE * 2)
+			throw new IllegalArgumentException("segmentSize must hold at least one record: " + segmentSize);
+
+		this.base = base;
+		this.segmentSize = segmentSize - segmentSize % RecordingFormat.RECORD_SIZE;
+		segmentExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread (Runnable runnable) {
+				Thread thread = new Thread(runnable, "ControllerRecorder");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		try {
+			segment = mapSegment(0);
+		} catch (IOException e) {
+			segmentExecutor.shutdown();
+			throw new GdxRuntimeException("Couldn't create recording: " + base, e);
+		}
+		prepareNextSegment();
+	}
+
+	@Override
+	public void connected (Controller controller) {
+		getControllerId(controller, TimeUtils.nanoTime());
+	}
+
+	@Override
+	public void disconnected (Controller controller) {
+		if (disposed || !controllerIds.containsKey(controller))
+			return;
+
+		write(TimeUtils.nanoTime(), RecordingFormat.DISCONNECTED, controllerIds.remove(controller, -1), 0, 0, 0, 0);
+	}
+
+	@Override
+	public boolean buttonDown (Controller controller, int buttonCode) {
+		return buttonDown(controller, buttonCode, TimeUtils.nanoTime());
+	}
+
+	@Override
+	public boolean buttonDown (Controller controller, int buttonCode, long captureNanos) {
+		if (!disposed)
+			write(captureNanos, RecordingFormat.BUTTON_DOWN, getControllerId(controller, captureNanos), buttonCode, 0, 0, 0);
+		return false;
+	}
+
+	@Override
+	public boolean buttonUp (Controller controller, int buttonCode) {
+		return buttonUp(controller, buttonCode, TimeUtils.nanoTime());
+	}
+
+	@Override
+	public boolean buttonUp (Controller controller, int buttonCode, long captureNanos) {
+		if (!disposed)
+			write(captureNanos, RecordingFormat.BUTTON_UP, getControllerId(controller, captureNanos), buttonCode, 0, 0, 0);
+		return false;
+	}
+
+	@Override
+	public boolean axisMoved (Controller controller, int axisCode, float value) {
+		return axisMoved(controller, axisCode, value, TimeUtils.nanoTime());
+	}
+
+	@Override
+	public boolean axisMoved (Controller controller, int axisCode, float value, long captureNanos) {
+		if (!disposed)
+			write(captureNanos, RecordingFormat.AXIS, getControllerId(controller, captureNanos), axisCode, Float.floatToRawIntBits(value), 0, 0);
+		return false;
+	}
+
+	/**
+	 * @return the id of the controller in the recording. Controllers that were connected before
+	 * recording started get a connect record on their first event, stamped with its time.
+	 */
+	private int getControllerId (Controller controller, long timeNanos) {
+		int id = controllerIds.get(controller, -1);
+		if (id >= 0 || disposed)
+			return id;
+
+		id = nextControllerId++;
+		controllerIds.put(controller, id);
+		write(timeNanos, RecordingFormat.CONNECTED, id, controller.getMinButtonIndex(),
+			Float.floatToRawIntBits(0), controller.getMaxButtonIndex(), controller.getAxisCount());
+
+		String name = controller.getName();
+		if (name == null)
+			name = "";
+		for (int i = 0; i <= name.length(); i += RecordingFormat.CHARS_PER_NAME_RECORD) {
+			write(timeNanos, RecordingFormat.NAME, id, chars(name, i), chars(name, i + 2), chars(name, i + 4), chars(name, i + 6));
+		}
+		return id;
+	}
+
+	/** @return two chars of the name packed into an int, zero past its end */
+	private static int chars (String name, int index) {
+		int first = index < name.length() ? name.charAt(index) : 0;
+		int second = index + 1 < name.length() ? name.charAt(index + 1) : 0;
+		return first | second << 16;
+	}
+
+	private void write (long timeNanos, int type, int controllerId, int code, int value, int arg0, int arg1) {
+		if (segment.remaining() < RecordingFormat.RECORD_SIZE)
+			nextSegment();
+
+		segment.putLong(timeNanos);
+		segment.putInt(type);
+		segment.putInt(controllerId);
+		segment.putInt(code);
+		segment.putInt(value);
+		segment.putInt(arg0);
+		segment.putInt(arg1);
+	}
+
+	private void nextSegment () {
+		try {
+			segment = nextSegment.get();
+		} catch (Exception e) {
+			throw new GdxRuntimeException("Couldn't create recording segment " + (segmentIndex + 1) + ": " + base, e);
+		}
+		segmentIndex++;
+		prepareNextSegment();
+	}
+
+	private void prepareNextSegment () {
+		final int index = segmentIndex + 1;
+		nextSegment = segmentExecutor.submit(new Callable<MappedByteBuffer>() {
+			@Override
+			public MappedByteBuffer call () throws Exception {
+				MappedByteBuffer buffer = mapSegment(index);
+				// fault the pages in now rather than on the thread recording events
+				buffer.load();
+				return buffer;
+			}
+		});
+	}
+
+	private MappedByteBuffer mapSegment (int index) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(RecordingFormat.getSegmentFile(base, index), "rw");
+		try {
+			file.setLength(0);
+			file.setLength(segmentSize);
+			MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+			buffer.order(RecordingFormat.BYTE_ORDER);
+			buffer.putInt(RecordingFormat.MAGIC);
+			buffer.putInt(RecordingFormat.VERSION);
+			buffer.putInt(RecordingFormat.RECORD_SIZE);
+			buffer.putInt(index);
+			buffer.position(RecordingFormat.RECORD_SIZE);
+			return buffer;
+		} finally {
+			// the mapping stays valid after closing the file
+			file.close();
+		}
+	}
+
+	/**
+	 * Stops recording and trims the last segment to its content. Blocks until the background thread
+	 * finished.
+	 */
+	@Override
+	public void dispose () {
+		if (disposed)
+			return;
+		disposed = true;
+
+		final int usedBytes = segment.position();
+		final int lastIndex = segmentIndex;
+		segment.force();
+		segment = null;
+		segmentExecutor.submit(new Callable<Void>() {
+			@Override
+			public Void call () throws Exception {
+				// wait for and drop the segment mapped ahead
+				try {
+					nextSegment.get();
+				} catch (Exception e) {
+					// nothing to clean up but the file
+				}
+				RecordingFormat.getSegmentFile(base, lastIndex + 1).delete();
+
+				RandomAccessFile file = new RandomAccessFile(RecordingFormat.getSegmentFile(base, lastIndex), "rw");
+				try {
+					file.setLength(usedBytes);
+				} catch (IOException e) {
+					// some platforms can't truncate files that are still mapped, the zero filled tail is valid
+				} finally {
+					file.close();
+				}
+				return null;
+			}
+		});
+		segmentExecutor.shutdown();
+		try {
+			segmentExecutor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.badlogic.gdx.controllers.recording;
+
+import java.io.File;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the files written by {@link ControllerRecorder}.
+ * <p>
+ * A recording consists of segment files named {@code <base>.0}, {@code <base>.1} and so on. Every
+ * segment starts with a header and is followed by fixed-width records, both {@link #RECORD_SIZE}
+ * bytes long and little endian. The tail of the last segment may be zero filled, a record type of
+ * {@link #END} ends the recording.
+ * <pre>
+ * header: int magic, int version, int record size, int segment index, 16 bytes unused
+ * record: long nanoTime, int type, int controller id, int code, float value, int arg0, int arg1
+ * </pre>
+ * {@link #CONNECTED} records carry the minimum button index in code, the maximum button index in
+ * arg0 and the axis count in arg1. They are followed by {@link #NAME} records holding eight UTF-16
+ * chars each in code, value, arg0 and arg1, the name ends at the first zero char.
+ */
+final class RecordingFormat {
+	static final int MAGIC = 0x47445843;
+	static final int VERSION = 1;
+	static final int RECORD_SIZE = 32;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	static final int END = 0;
+	static final int CONNECTED = 1;
+	static final int DISCONNECTED = 2;
+	static final int BUTTON_DOWN = 3;
+	static final int BUTTON_UP = 4;
+	static final int AXIS = 5;
+	static final int NAME = 6;
+
+	static final int CHARS_PER_NAME_RECORD = 8;
+
+	private RecordingFormat () {
+	}
+
+	static File getSegmentFile (File base, int segmentIndex) {
+		return new File(base.getPath() + "." + segmentIndex);
+	}
+}
@@ -0,0 +1,120 @@
+package com.badlogic.gdx.controllers.recording;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Streams the records of a recording written by {@link ControllerRecorder}, reading the segment
+ * files in chunks of a fixed number of records. Only the current record's fields are kept.
+ */
+class RecordingReader {
+	private final File base;
+	private final ByteBuffer chunk;
+	private FileChannel channel;
+	private int segmentIndex = -1;
+	private boolean finished;
+
+	long nanoTime;
+	int type;
+	int controllerId;
+	int code;
+	int value;
+	int arg0;
+	int arg1;
+
+	RecordingReader (File base, int chunkRecords) {
+		this.base = base;
+		chunk = ByteBuffer.allocateDirect(Math.max(chunkRecords, 1) * RecordingFormat.RECORD_SIZE);
+		chunk.order(RecordingFormat.BYTE_ORDER);
+		chunk.limit(0);
+		if (!RecordingFormat.getSegmentFile(base, 0).exists())
+			throw new GdxRuntimeException("Recording not found: " + RecordingFormat.getSegmentFile(base, 0));
+	}
+
+	/** Reads the next record into the fields, returns false at the end of the recording */
+	boolean next () {
+		if (finished)
+			return false;
+
+		try {
+			while (chunk.remaining() < RecordingFormat.RECORD_SIZE) {
+				if (channel == null || !fill()) {
+					if (!openNextSegment()) {
+						finish();
+						return false;
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't read recording segment " + segmentIndex + ": " + base, e);
+		}
+
+		nanoTime = chunk.getLong();
+		type = chunk.getInt();
+		controllerId = chunk.getInt();
+		code = chunk.getInt();
+		value = chunk.getInt();
+		arg0 = chunk.getInt();
+		arg1 = chunk.getInt();
+
+		if (type == RecordingFormat.END) {
+			// zero filled tail of the last segment
+			finish();
+			return false;
+		}
+		return true;
+	}
+
+	/** @return false if the current segment has no more complete records */
+	private boolean fill () throws IOException {
+		chunk.compact();
+		int read = channel.read(chunk);
+		chunk.flip();
+		return read > 0 || chunk.remaining() >= RecordingFormat.RECORD_SIZE;
+	}
+
+	private boolean openNextSegment () throws IOException {
+		close();
+		File file = RecordingFormat.getSegmentFile(base, segmentIndex + 1);
+		if (!file.exists())
+			return false;
+
+		segmentIndex++;
+		channel = new FileInputStream(file).getChannel();
+		chunk.clear();
+		chunk.limit(RecordingFormat.RECORD_SIZE);
+		while (chunk.hasRemaining()) {
+			if (channel.read(chunk) < 0)
+				return false;
+		}
+		chunk.flip();
+		if (chunk.getInt() != RecordingFormat.MAGIC || chunk.getInt() != RecordingFormat.VERSION
+			|| chunk.getInt() != RecordingFormat.RECORD_SIZE || chunk.getInt() != segmentIndex)
+			throw new GdxRuntimeException("Not a controller recording segment: " + file);
+
+		chunk.clear();
+		chunk.limit(0);
+		return true;
+	}
+
+	private void finish () {
+		finished = true;
+		close();
+	}
+
+	void close () {
+		if (channel == null)
+			return;
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// nothing left to read
+		}
+		channel = null;
+	}
+}
@@ -0,0 +1,39 @@
+package com.badlogic.gdx.controllers.recording;
+
+import com.badlogic.gdx.controllers.ControllerMapping;
+import com.badlogic.gdx.controllers.VirtualControllerManager;
+
+import java.io.File;
+
+/** Settings of {@link ReplayControllerManager}, see {@link ReplayControllerManager#replayConfiguration} */
+public class ReplayConfiguration {
+	public enum Mode {
+		/** Every frame advances the replay clock by {@link #frameNanos}, independent of real time */
+		FRAME_LOCKED,
+		/** The whole recording is replayed in the first frame */
+		AS_FAST_AS_POSSIBLE,
+		/** Nothing is replayed automatically, call the manager's replay methods */
+		MANUAL
+	}
+
+	/** Base path of the recording, as passed to {@link ControllerRecorder} */
+	public File file;
+	public Mode mode = Mode.FRAME_LOCKED;
+	/** Recorded time replayed per frame in {@link Mode#FRAME_LOCKED} mode */
+	public long frameNanos = 1000000000L / 60;
+	/** Number of records read from disk at once */
+	public int chunkRecords = 4096;
+	/** Largest button code and number of axes a replayed controller may have */
+	public int maxButtonIndex = 511;
+	public int axisCount = 64;
+	/** Mapping returned by replayed controllers. Recordings don't store mappings, set the one of the backend that was recorded. */
+	public ControllerMapping mapping = VirtualControllerManager.DEFAULT_MAPPING;
+
+	public ReplayConfiguration () {
+	}
+
+	public ReplayConfiguration (File file, Mode mode) {
+		this.file = file;
+		this.mode = mode;
+	}
+}
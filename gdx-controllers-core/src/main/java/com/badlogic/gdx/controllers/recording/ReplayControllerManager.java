@@ -0,0 +1,199 @@
+package com.badlogic.gdx.controllers.recording;
+
+import com.badlogic.gdx.controllers.VirtualController;
+import com.badlogic.gdx.controllers.VirtualControllerManager;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * {@link com.badlogic.gdx.controllers.ControllerManager} playing back a recording made with
+ * {@link ControllerRecorder}. It reconnects the recorded controllers and fires the recorded
+ * events through the regular listeners, in recorded order. Select it with
+ * {@link com.badlogic.gdx.controllers.Controllers#preferredManager} after assigning
+ * {@link #replayConfiguration}.
+ * <p>
+ * The recording is streamed from disk in chunks. Depending on {@link ReplayConfiguration#mode},
+ * events are replayed in fixed steps of recorded time per frame, all at once in the first frame, or
+ * only when calling {@link #replayFor(long)} and {@link #replayAll()}. Unique ids of the recorded
+ * controllers are not preserved. Not available on GWT.
+ */
+public class ReplayControllerManager extends VirtualControllerManager implements Disposable {
+    // assign a replay configuration to this field before the manager is created
+    public static ReplayConfiguration replayConfiguration;
+
+    private final ReplayConfiguration configuration;
+    private final RecordingReader reader;
+    private final IntMap<VirtualController> replayedControllers = new IntMap<>();
+    private final StringBuilder pendingName = new StringBuilder();
+    private int pendingId = -1;
+    private int pendingMinButtonIndex;
+    private int pendingMaxButtonIndex;
+    private int pendingAxisCount;
+    private boolean pendingNameComplete;
+    private boolean hasRecord;
+    private long startNanos = -1;
+    private long replayedNanos;
+    private boolean finished;
+
+    public ReplayControllerManager() {
+        this(replayConfiguration);
+    }
+
+    public ReplayControllerManager(ReplayConfiguration configuration) {
+        super(checkConfiguration(configuration).maxButtonIndex, configuration.axisCount, configuration.mapping);
+        this.configuration = configuration;
+        this.reader = new RecordingReader(configuration.file, configuration.chunkRecords);
+    }
+
+    private static ReplayConfiguration checkConfiguration(ReplayConfiguration configuration) {
+        if (configuration == null || configuration.file == null)
+            throw new GdxRuntimeException("ReplayControllerManager.replayConfiguration must name a recording");
+        return configuration;
+    }
+
+    @Override
+    protected void update() {
+        switch (configuration.mode) {
+            case FRAME_LOCKED:
+                replayFor(configuration.frameNanos);
+                break;
+            case AS_FAST_AS_POSSIBLE:
+                replayAll();
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Replays the events of the given span of recorded time, following the ones replayed before
+     *
+     * @return the number of replayed records
+     */
+    public int replayFor(long nanos) {
+        replayedNanos += nanos;
+        return replayUntil(replayedNanos);
+    }
+
+    /**
+     * Replays all remaining events
+     *
+     * @return the number of replayed records
+     */
+    public int replayAll() {
+        int count = replayUntil(Long.MAX_VALUE);
+        if (startNanos >= 0)
+            replayedNanos = Math.max(replayedNanos, reader.nanoTime - startNanos);
+        return count;
+    }
+
+    private int replayUntil(long untilNanos) {
+        int count = 0;
+        while (nextRecord()) {
+            if (startNanos < 0)
+                startNanos = reader.nanoTime;
+            if (reader.nanoTime - startNanos > untilNanos)
+                break;
+
+            replayRecord();
+            hasRecord = false;
+            count++;
+        }
+
+        // connect right away unless the name continues in the record that is not due yet
+        if (!hasRecord || reader.type != RecordingFormat.NAME || reader.controllerId != pendingId)
+            flushPendingConnect();
+        return count;
+    }
+
+    /** @return true if every record of the recording has been replayed */
+    public boolean isFinished() {
+        return finished && !hasRecord;
+    }
+
+    /** @return recorded time since the first record that has been replayed so far */
+    public long getReplayedNanos() {
+        return replayedNanos;
+    }
+
+    /** Returns true if a record is available, keeping a record that was not yet due */
+    private boolean nextRecord() {
+        if (hasRecord)
+            return true;
+        if (finished)
+            return false;
+
+        hasRecord = reader.next();
+        finished = !hasRecord;
+        return hasRecord;
+    }
+
+    private void replayRecord() {
+        if (reader.type == RecordingFormat.NAME && reader.controllerId == pendingId) {
+            appendName(reader.code);
+            appendName(reader.value);
+            appendName(reader.arg0);
+            appendName(reader.arg1);
+            return;
+        }
+        flushPendingConnect();
+
+        switch (reader.type) {
+            case RecordingFormat.CONNECTED:
+                pendingId = reader.controllerId;
+                pendingMinButtonIndex = reader.code;
+                pendingMaxButtonIndex = Math.min(reader.arg0, configuration.maxButtonIndex);
+                pendingAxisCount = Math.min(reader.arg1, configuration.axisCount);
+                pendingName.setLength(0);
+                pendingNameComplete = false;
+                break;
+            case RecordingFormat.DISCONNECTED: {
+                VirtualController controller = replayedControllers.remove(reader.controllerId);
+                if (controller != null)
+                    disconnect(controller);
+                break;
+            }
+            case RecordingFormat.BUTTON_DOWN:
+            case RecordingFormat.BUTTON_UP: {
+                VirtualController controller = replayedControllers.get(reader.controllerId);
+                if (controller != null)
+                    setButton(controller.getSlot(), reader.code, reader.type == RecordingFormat.BUTTON_DOWN);
+                break;
+            }
+            case RecordingFormat.AXIS: {
+                VirtualController controller = replayedControllers.get(reader.controllerId);
+                if (controller != null)
+                    setAxis(controller.getSlot(), reader.code, Float.intBitsToFloat(reader.value));
+                break;
+            }
+            default:
+        }
+    }
+
+    /** Appends two chars packed by the recorder, the name ends at the first zero char */
+    private void appendName(int chars) {
+        for (int i = 0; i < 2 && !pendingNameComplete; i++, chars >>>= 16) {
+            char c = (char) (chars & 0xffff);
+            if (c == 0)
+                pendingNameComplete = true;
+            else
+                pendingName.append(c);
+        }
+    }
+
+    /** Connects the controller of the last connect record once its name records have been read */
+    private void flushPendingConnect() {
+        if (pendingId < 0)
+            return;
+
+        VirtualController controller = connect(pendingName.toString(), pendingMinButtonIndex, pendingMaxButtonIndex,
+                pendingAxisCount);
+        replayedControllers.put(pendingId, controller);
+        pendingId = -1;
+    }
+
+    @Override
+    public void dispose() {
+        reader.close();
+    }
+}
@@ -1,13 +1,15 @@
 package com.badlogic.gdx.controllers.desktop;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.controllers.AbstractControllerManager;
 import com.badlogic.gdx.controllers.Controller;
-import com.badlogic.gdx.controllers.ControllerListener;
-import com.badlogic.gdx.controllers.desktop.support.CompositeControllerListener;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
+import com.badlogic.gdx.controllers.desktop.support.ControllerManagerDeviceSource;
+import com.badlogic.gdx.controllers.desktop.support.JamepadController;
 import com.badlogic.gdx.controllers.desktop.support.JamepadControllerMonitor;
-import com.badlogic.gdx.controllers.desktop.support.JamepadShutdownHook;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.controllers.desktop.support.JamepadDeviceSource;
+import com.badlogic.gdx.controllers.desktop.support.JamepadPollingThread;
 import com.badlogic.gdx.utils.Disposable;
 
 import java.io.IOException;
@@ -15,65 +17,169 @@ import java.io.IOException;
 public class JamepadControllerManager extends AbstractControllerManager implements Disposable {
     // assign a Jamepad configuration to this field at game startup to override defaults
     public static com.studiohartman.jamepad.Configuration jamepadConfiguration;
+    /**
+     * Polls per second of a dedicated polling thread, or 0 to poll once per frame on the render thread.
+     * Assign it at game startup. A polling thread samples controllers independent of the frame rate,
+     * for example at 500 to 1000 Hz, so taps shorter than a frame still get reported. Listeners are
+     * still invoked on the render thread. SDL is then polled from another thread than the one it was
+     * initialized on, which not every platform supports, so this is off by default.
+     */
+    public static int pollingRate = 0;
+    /**
+     * Set to true at game startup to load the natives and the mapping database on a background thread,
+     * instead of blocking the first access to {@link com.badlogic.gdx.controllers.Controllers}. Until
+     * that finished, no controllers are reported, then a connected event is sent for every controller
+     * already plugged in. Like {@link #pollingRate}, this uses SDL from more than one thread, so it is
+     * off by default.
+     */
+    public static boolean asyncInitialization = false;
+    /**
+     * Classpath path of the mapping database SDL loads at startup. If null, the database compiled for
+     * the current platform is used, which holds only the mappings SDL would not skip anyway.
+     */
+    public static String mappingsPath = null;
 
-    private static boolean nativeLibInitialized = false;
-    private static com.studiohartman.jamepad.ControllerManager controllerManager;
-
-    private final CompositeControllerListener compositeListener = new CompositeControllerListener();
+    // reset if asynchronous initialization failed, so the next manager tries again
+    private static volatile boolean nativeLibInitialized = false;
+    private static boolean shutdownHookAdded = false;
+    private static volatile com.studiohartman.jamepad.ControllerManager controllerManager;
+    private static JamepadPollingThread pollingThread;
+    private static volatile Thread initializationThread;
+    private static volatile long initializationNanos = -1;
 
     public JamepadControllerManager() {
-        compositeListener.addListener(new ManageControllers());
+        listeners.add(new ManageControllers());
 
         if (!nativeLibInitialized) {
             if (jamepadConfiguration == null) {
                 jamepadConfiguration = new com.studiohartman.jamepad.Configuration();
             }
+            // added before initialization starts, so SDL is shut down even if the app exits before that finished
+            if (!shutdownHookAdded) {
+                Gdx.app.addLifecycleListener(new ShutdownHook());
+                shutdownHookAdded = true;
+            }
 
-            controllerManager = new com.studiohartman.jamepad.ControllerManager(jamepadConfiguration);
-            controllerManager.initSDLGamepad();
-
-            JamepadControllerMonitor monitor = new JamepadControllerMonitor(controllerManager, compositeListener);
-            monitor.run();
-
-            Gdx.app.addLifecycleListener(new JamepadShutdownHook(controllerManager));
-
-            nativeLibInitialized = true;
+            if (asyncInitialization) {
+                nativeLibInitialized = true;
+                initializationThread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            initializeSDL();
+                        } catch (Throwable t) {
+                            Gdx.app.error("Jamepad", "Failed initializing SDL, no controllers will be reported", t);
+                            nativeLibInitialized = false;
+                            return;
+                        }
+                        Gdx.app.postRunnable(new Runnable() {
+                            @Override
+                            public void run() {
+                                // SDL is already shut down if the app was disposed in the meantime
+                                if (controllerManager != null) {
+                                    startMonitor();
+                                }
+                            }
+                        });
+                    }
+                }, "Jamepad initialization");
+                initializationThread.setDaemon(true);
+                initializationThread.start();
+            } else {
+                initializeSDL();
+                startMonitor();
+                nativeLibInitialized = true;
+            }
         }
     }
 
-    @Override
-    public void addListener(ControllerListener listener) {
-        compositeListener.addListener(listener);
+    private static void initializeSDL() {
+        long start = System.nanoTime();
+        com.studiohartman.jamepad.ControllerManager manager = new com.studiohartman.jamepad.ControllerManager(jamepadConfiguration,
+            mappingsPath != null ? mappingsPath : getPlatformMappingsPath());
+        manager.initSDLGamepad();
+        initializationNanos = System.nanoTime() - start;
+        controllerManager = manager;
     }
 
-    @Override
-    public void removeListener(ControllerListener listener) {
-        compositeListener.removeListener(listener);
+    private static String getPlatformMappingsPath() {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        String platform = os.contains("win") ? "windows" : os.contains("mac") ? "macosx" : os.contains("linux") ? "linux" : null;
+        String path = platform != null ? "/gamecontrollerdb-" + platform + ".txt" : null;
+        // fall back to the database of all desktop platforms if there is none compiled for this one
+        return path != null && JamepadControllerManager.class.getResource(path) != null ? path : "/gamecontrollerdb.txt";
     }
 
-    @Override
-    public Array<ControllerListener> getListeners() {
-        Array<ControllerListener> array = new Array<>();
-        array.add(compositeListener);
-        return array;
+    private void startMonitor() {
+        if (pollingRate > 0) {
+            JamepadDeviceSource deviceSource = new ControllerManagerDeviceSource(controllerManager, jamepadConfiguration.maxNumControllers);
+            // room for the events of many polls, the polling thread pauses if the render thread falls further behind
+            int maxEventsPerPoll = JamepadControllerMonitor.getMaxEventsPerPoll(deviceSource.getSlotCount());
+            ControllerEventQueue eventQueue = new ControllerEventQueue(Math.max(4096, 4 * maxEventsPerPoll));
+            JamepadControllerMonitor monitor = new JamepadControllerMonitor(deviceSource, listeners, metrics, eventQueue);
+            pollingThread = new JamepadPollingThread(monitor, eventQueue, pollingRate);
+            pollingThread.start();
+            monitor.run();
+        } else {
+            JamepadControllerMonitor monitor = new JamepadControllerMonitor(controllerManager, listeners, metrics);
+            monitor.run();
+        }
+    }
+
+    /**
+     * @return the nanoseconds it took to load the natives and the mapping database, or -1 if that
+     * didn't finish yet. Compare it between synchronous and {@link #asyncInitialization asynchronous}
+     * initialization to see how much of it delays the first frame.
+     */
+    public static long getInitializationNanos() {
+        return initializationNanos;
     }
 
     @Override
     public void clearListeners() {
-        compositeListener.clear();
-        compositeListener.addListener(new ManageControllers());
+        listeners.clear();
+        listeners.add(new ManageControllers());
     }
 
     @Override
     public void dispose() {
-        controllerManager.quitSDLGamepad();
+        shutdownSDL();
+    }
+
+    /**
+     * Waits for a running initialization, stops the polling thread and shuts down SDL if it came up.
+     * Called by {@link #dispose()} and when the app is disposed, whichever comes first.
+     */
+    private static synchronized void shutdownSDL() {
+        Thread initializationThread = JamepadControllerManager.initializationThread;
+        if (initializationThread != null) {
+            try {
+                initializationThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (pollingThread != null) {
+            pollingThread.shutdown();
+            pollingThread = null;
+        }
+        com.studiohartman.jamepad.ControllerManager manager = controllerManager;
+        if (manager != null) {
+            controllerManager = null;
+            manager.quitSDLGamepad();
+        }
     }
 
     /**
      * @see com.studiohartman.jamepad.ControllerManager#addMappingsFromFile(String)
      */
     public static void addMappingsFromFile(String path) throws IOException, IllegalStateException {
-        controllerManager.addMappingsFromFile(path);
+        if (controllerManager == null) {
+            throw new IllegalStateException("SDL is not initialized yet");
+        }
+        synchronized (JamepadController.SDL_LOCK) {
+            controllerManager.addMappingsFromFile(path);
+        }
     }
 
     /**
@@ -85,6 +191,23 @@ public class JamepadControllerManager extends AbstractControllerManager implemen
         Gdx.app.error("Jamepad", controllerManager.getLastNativeError());
     }
 
+    private static class ShutdownHook implements LifecycleListener {
+        @Override
+        public void pause() {
+
+        }
+
+        @Override
+        public void resume() {
+
+        }
+
+        @Override
+        public void dispose() {
+            shutdownSDL();
+        }
+    }
+
     private class ManageControllers extends ManageCurrentControllerListener {
         @Override
         public void connected(Controller controller) {
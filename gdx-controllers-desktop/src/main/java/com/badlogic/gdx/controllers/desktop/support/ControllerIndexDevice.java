@@ -0,0 +1,87 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+import com.studiohartman.jamepad.ControllerIndex;
+import com.studiohartman.jamepad.ControllerPowerLevel;
+import com.studiohartman.jamepad.ControllerUnpluggedException;
+
+/**
+ * {@link JamepadDevice} backed by an SDL game controller. Every call crosses JNI.
+ */
+public class ControllerIndexDevice implements JamepadDevice {
+    private final ControllerIndex controllerIndex;
+
+    public ControllerIndexDevice(ControllerIndex controllerIndex) {
+        this.controllerIndex = controllerIndex;
+    }
+
+    public ControllerIndex getControllerIndex() {
+        return controllerIndex;
+    }
+
+    @Override
+    public int getIndex() {
+        return controllerIndex.getIndex();
+    }
+
+    @Override
+    public int getInstanceId() throws ControllerUnpluggedException {
+        return controllerIndex.getDeviceInstanceID();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return controllerIndex.isConnected();
+    }
+
+    @Override
+    public String getName() throws ControllerUnpluggedException {
+        return controllerIndex.getName();
+    }
+
+    @Override
+    public boolean isButtonPressed(ControllerButton button) throws ControllerUnpluggedException {
+        return controllerIndex.isButtonPressed(button);
+    }
+
+    @Override
+    public float getAxisState(ControllerAxis axis) throws ControllerUnpluggedException {
+        return controllerIndex.getAxisState(axis);
+    }
+
+    @Override
+    public boolean isButtonAvailable(ControllerButton button) throws ControllerUnpluggedException {
+        return controllerIndex.isButtonAvailable(button);
+    }
+
+    @Override
+    public boolean isAxisAvailable(ControllerAxis axis) throws ControllerUnpluggedException {
+        return controllerIndex.isAxisAvailable(axis);
+    }
+
+    @Override
+    public boolean canVibrate() throws ControllerUnpluggedException {
+        return controllerIndex.canVibrate();
+    }
+
+    @Override
+    public boolean doVibration(float leftMagnitude, float rightMagnitude, int duration) throws ControllerUnpluggedException {
+        return controllerIndex.doVibration(leftMagnitude, rightMagnitude, duration);
+    }
+
+    @Override
+    public int getPlayerIndex() throws ControllerUnpluggedException {
+        return controllerIndex.getPlayerIndex();
+    }
+
+    @Override
+    public void setPlayerIndex(int index) throws ControllerUnpluggedException {
+        controllerIndex.setPlayerIndex(index);
+    }
+
+    @Override
+    public ControllerPowerLevel getPowerLevel() throws ControllerUnpluggedException {
+        return controllerIndex.getPowerLevel();
+    }
+}
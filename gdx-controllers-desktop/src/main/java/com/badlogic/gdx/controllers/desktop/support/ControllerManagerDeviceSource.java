@@ -0,0 +1,37 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.studiohartman.jamepad.ControllerManager;
+
+/** {@link JamepadDeviceSource} backed by Jamepad's SDL {@link ControllerManager} */
+public class ControllerManagerDeviceSource implements JamepadDeviceSource {
+    private final ControllerManager controllerManager;
+    // Jamepad keeps one controller index per slot, so the devices wrapping them are created once
+    private final ControllerIndexDevice[] devices;
+
+    /**
+     * @param controllerManager an initialized controller manager
+     * @param slotCount the maxNumControllers of the configuration the controller manager was created with
+     */
+    public ControllerManagerDeviceSource(ControllerManager controllerManager, int slotCount) {
+        this.controllerManager = controllerManager;
+        this.devices = new ControllerIndexDevice[slotCount];
+    }
+
+    @Override
+    public boolean update() {
+        return controllerManager.update();
+    }
+
+    @Override
+    public int getSlotCount() {
+        return devices.length;
+    }
+
+    @Override
+    public JamepadDevice getDevice(int slot) {
+        if (devices[slot] == null) {
+            devices[slot] = new ControllerIndexDevice(controllerManager.getControllerIndex(slot));
+        }
+        return devices[slot];
+    }
+}
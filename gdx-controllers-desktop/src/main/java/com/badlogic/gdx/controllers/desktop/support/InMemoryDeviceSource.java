@@ -0,0 +1,60 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+/**
+ * {@link JamepadDeviceSource} holding {@link InMemoryJamepadDevice}s plugged in by code, so the
+ * desktop backend can be driven deterministically without SDL or gamepads, for example on a
+ * headless build machine or in benchmarks.
+ * <p>
+ * Not thread safe: plug and unplug devices on the thread that polls the source.
+ */
+public class InMemoryDeviceSource implements JamepadDeviceSource {
+    private final InMemoryJamepadDevice[] devices;
+    private boolean changed;
+
+    public InMemoryDeviceSource(int slotCount) {
+        devices = new InMemoryJamepadDevice[slotCount];
+    }
+
+    /**
+     * Plugs the device into the first free slot. It is reported as a new controller by the next poll.
+     * @return the slot, or -1 if all slots are taken
+     */
+    public int plug(InMemoryJamepadDevice device) {
+        for (int i = 0; i < devices.length; i++) {
+            if (devices[i] == null) {
+                devices[i] = device;
+                device.setConnected(true, i);
+                changed = true;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Unplugs the device in the slot, if any. Its controller is reported as disconnected by the next poll. */
+    public void unplug(int slot) {
+        InMemoryJamepadDevice device = devices[slot];
+        if (device != null) {
+            devices[slot] = null;
+            device.setConnected(false, -1);
+            changed = true;
+        }
+    }
+
+    @Override
+    public boolean update() {
+        boolean result = changed;
+        changed = false;
+        return result;
+    }
+
+    @Override
+    public int getSlotCount() {
+        return devices.length;
+    }
+
+    @Override
+    public JamepadDevice getDevice(int slot) {
+        return devices[slot];
+    }
+}
@@ -0,0 +1,158 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+import com.studiohartman.jamepad.ControllerPowerLevel;
+import com.studiohartman.jamepad.ControllerUnpluggedException;
+
+/**
+ * {@link JamepadDevice} whose state is set by code, see {@link InMemoryDeviceSource}. Every button
+ * and axis is available. Like an SDL device, it throws {@link ControllerUnpluggedException} on every
+ * query while it is not plugged in. Vibrations are recorded instead of played.
+ */
+public class InMemoryJamepadDevice implements JamepadDevice {
+    private static final ControllerButton[] BUTTONS = ControllerButton.values();
+    private static int nextInstanceId;
+
+    private final String name;
+    private int instanceId = -1;
+    private final boolean[] buttons = new boolean[BUTTONS.length];
+    private final float[] axes = new float[ControllerAxis.values().length];
+    private boolean connected;
+    private int slot = -1;
+    private int playerIndex = -1;
+    private boolean canVibrate = true;
+    private float vibrationLeftMagnitude;
+    private float vibrationRightMagnitude;
+    private int vibrationDuration;
+
+    public InMemoryJamepadDevice(String name) {
+        this.name = name;
+    }
+
+    void setConnected(boolean connected, int slot) {
+        this.connected = connected;
+        this.slot = slot;
+        if (connected) {
+            // like SDL, every time a device is plugged in it gets a new instance id
+            synchronized (InMemoryJamepadDevice.class) {
+                instanceId = nextInstanceId++;
+            }
+        }
+    }
+
+    public void setButton(ControllerButton button, boolean pressed) {
+        buttons[button.ordinal()] = pressed;
+    }
+
+    public void setAxis(ControllerAxis axis, float value) {
+        axes[axis.ordinal()] = value;
+    }
+
+    public void setCanVibrate(boolean canVibrate) {
+        this.canVibrate = canVibrate;
+    }
+
+    /** @return the left magnitude of the last vibration started, 0 if none or cancelled */
+    public float getVibrationLeftMagnitude() {
+        return vibrationLeftMagnitude;
+    }
+
+    /** @return the right magnitude of the last vibration started, 0 if none or cancelled */
+    public float getVibrationRightMagnitude() {
+        return vibrationRightMagnitude;
+    }
+
+    /** @return the duration in milliseconds of the last vibration started */
+    public int getVibrationDuration() {
+        return vibrationDuration;
+    }
+
+    @Override
+    public int getIndex() {
+        return slot;
+    }
+
+    @Override
+    public int getInstanceId() throws ControllerUnpluggedException {
+        checkConnected();
+        return instanceId;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public String getName() throws ControllerUnpluggedException {
+        checkConnected();
+        return name;
+    }
+
+    @Override
+    public boolean isButtonPressed(ControllerButton button) throws ControllerUnpluggedException {
+        checkConnected();
+        return buttons[button.ordinal()];
+    }
+
+    @Override
+    public float getAxisState(ControllerAxis axis) throws ControllerUnpluggedException {
+        checkConnected();
+        return axes[axis.ordinal()];
+    }
+
+    @Override
+    public boolean isButtonAvailable(ControllerButton button) throws ControllerUnpluggedException {
+        checkConnected();
+        return true;
+    }
+
+    @Override
+    public boolean isAxisAvailable(ControllerAxis axis) throws ControllerUnpluggedException {
+        checkConnected();
+        return true;
+    }
+
+    @Override
+    public boolean canVibrate() throws ControllerUnpluggedException {
+        checkConnected();
+        return canVibrate;
+    }
+
+    @Override
+    public boolean doVibration(float leftMagnitude, float rightMagnitude, int duration) throws ControllerUnpluggedException {
+        checkConnected();
+        if (!canVibrate) {
+            return false;
+        }
+        vibrationLeftMagnitude = leftMagnitude;
+        vibrationRightMagnitude = rightMagnitude;
+        vibrationDuration = duration;
+        return true;
+    }
+
+    @Override
+    public int getPlayerIndex() throws ControllerUnpluggedException {
+        checkConnected();
+        return playerIndex;
+    }
+
+    @Override
+    public void setPlayerIndex(int index) throws ControllerUnpluggedException {
+        checkConnected();
+        playerIndex = index;
+    }
+
+    @Override
+    public ControllerPowerLevel getPowerLevel() throws ControllerUnpluggedException {
+        checkConnected();
+        return ControllerPowerLevel.POWER_WIRED;
+    }
+
+    private void checkConnected() throws ControllerUnpluggedException {
+        if (!connected) {
+            throw new ControllerUnpluggedException("Controller " + name + " is not plugged in");
+        }
+    }
+}
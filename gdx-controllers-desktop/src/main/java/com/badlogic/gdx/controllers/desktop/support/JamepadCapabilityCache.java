@@ -0,0 +1,38 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Capabilities of controller models, so {@link JamepadController} probes them with native calls
+ * only for the first controller of a model. A controller that reconnects keeps its own probed
+ * values, see {@link JamepadControllerMonitor}.
+ * <p>
+ * Models are identified by the name SDL reports, as Jamepad exposes neither device GUIDs nor the
+ * raw button and axis counts of a device. Different models can report the same generic name, like
+ * "XInput Controller" or "USB Gamepad", and then share the capabilities probed for the first one. So
+ * the cache is only kept in memory for the current session and never persisted, and a vibration
+ * that succeeds corrects a cached "can't vibrate".
+ */
+public class JamepadCapabilityCache {
+    private static final ObjectMap<String, Capabilities> capabilitiesByName = new ObjectMap<>();
+
+    /** Capabilities of a controller model, -1 or null for values not probed yet */
+    public static class Capabilities {
+        int maxButtonIndex = -1;
+        int axisCount = -1;
+        Boolean canVibrate;
+    }
+
+    /**
+     * @return the capabilities of the model with the given name, filled by the controllers of
+     * that model as they probe them
+     */
+    public static synchronized Capabilities get(String name) {
+        Capabilities capabilities = capabilitiesByName.get(name);
+        if (capabilities == null) {
+            capabilities = new Capabilities();
+            capabilitiesByName.put(name, capabilities);
+        }
+        return capabilities;
+    }
+}
@@ -1,10 +1,13 @@
 package com.badlogic.gdx.controllers.desktop.support;
 
+import com.badlogic.gdx.controllers.ButtonFrameState;
 import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
 import com.badlogic.gdx.controllers.ControllerListener;
 import com.badlogic.gdx.controllers.ControllerMapping;
 import com.badlogic.gdx.controllers.ControllerPowerLevel;
-import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.controllers.ControllerState;
+import com.badlogic.gdx.controllers.Controllers;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.TimeUtils;
@@ -13,9 +16,25 @@ import com.studiohartman.jamepad.ControllerButton;
 import com.studiohartman.jamepad.ControllerIndex;
 import com.studiohartman.jamepad.ControllerUnpluggedException;
 
-import java.util.UUID;
-
-public class JamepadController implements Controller {
+import java.util.Arrays;
+
+/**
+ * A controller of the desktop backend. Without a polling thread, everything runs on the render
+ * thread. With one, fields are owned by one of the threads:
+ * <ul>
+ * <li>the polling thread samples the device in {@link #update()} and owns the sampled state,
+ * {@code buttonState}, {@code axisState} and {@code sampledAxes}, and reconnects the controller</li>
+ * <li>the render thread dispatches the queued events and owns the dispatched state,
+ * {@code dispatchedButtons}, {@code dispatchedAxes} and the frame button state, which the getters
+ * answer from, and the cached capabilities and vibration state</li>
+ * <li>{@code device}, {@code connected} and {@code playerIndex} are volatile and read by both</li>
+ * </ul>
+ * SDL's controller API must not be called by two threads at once, so every call into the device
+ * holds {@link #SDL_LOCK}. The polling thread holds it for a whole poll.
+ */
+public class JamepadController implements Controller, ButtonFrameState.Owner {
+    /** Serializes calls into SDL between the polling thread and the render thread */
+    public static final Object SDL_LOCK = new Object();
     private static final IntMap<ControllerButton> CODE_TO_BUTTON = new IntMap<>(ControllerButton.values().length);
     private static final IntMap<ControllerAxis> CODE_TO_AXIS = new IntMap<>(ControllerAxis.values().length);
     private static final Logger logger = new Logger(JamepadController.class.getSimpleName());
@@ -34,58 +53,135 @@ public class JamepadController implements Controller {
     }
 
     private final CompositeControllerListener compositeControllerListener = new CompositeControllerListener();
-    private final IntMap<Boolean> buttonState = new IntMap<>();
-    private final IntFloatMap axisState = new IntFloatMap();
+    // button and axis state of the last update, indexed by ordinal. SDL has less than 64 buttons.
+    private long buttonState;
+    private final float[] axisState = new float[CONTROLLER_AXIS_VALUES.length];
+    // axis values read by the current update, diffed against axisState
+    private final float[] sampledAxes = new float[CONTROLLER_AXIS_VALUES.length];
+    // button and axis state as dispatched to the listeners, only used by the render thread
+    private long dispatchedButtons;
+    private final float[] dispatchedAxes = new float[CONTROLLER_AXIS_VALUES.length];
+    private final ButtonFrameState buttonFrames = new ButtonFrameState(CONTROLLER_BUTTON_VALUES.length - 1);
+    private static int nextId;
+
     private final String uuid;
     private final String name;
-    private ControllerIndex controllerIndex;
-    private boolean connected = true;
+    // shared by all controllers of the same model, null if the name is unknown
+    private final JamepadCapabilityCache.Capabilities capabilities;
+    private volatile JamepadDevice device;
+    // events are queued here instead of dispatched if the controller is polled on its own thread
+    private ControllerEventQueue eventQueue;
+    private volatile boolean connected = true;
     private Boolean canVibrate = null;
     private long vibrationEndMs;
     private int axisCount = -1;
     private int maxButtonIndex = -1;
+    private long lastInputNanos = -1;
+    // the player index last set by the game, restored when the device reconnects
+    private volatile int playerIndex = PLAYER_IDX_UNSET;
 
     public JamepadController(ControllerIndex controllerIndex) {
-        this.controllerIndex = controllerIndex;
-        this.uuid = UUID.randomUUID().toString();
-        this.name = getInitialName();
-        initializeState();
+        this(new ControllerIndexDevice(controllerIndex));
+    }
+
+    public JamepadController(JamepadDevice device) {
+        this.device = device;
+        synchronized (JamepadController.class) {
+            // only unique within this session, which getUniqueId() promises, and cheaper than a random UUID
+            this.uuid = "jamepad-" + nextId++;
+        }
+        String initialName = getInitialName();
+        this.name = initialName != null ? initialName : "Unknown";
+        this.capabilities = initialName != null ? JamepadCapabilityCache.get(initialName) : null;
     }
 
     @Override
     public boolean getButton(final int buttonCode) {
+        if (!connected) {
+            return false;
+        }
+        ControllerButton button = toButton(buttonCode);
+        if (button == null) {
+            return false;
+        }
+        if (eventQueue != null) {
+            // the device belongs to the polling thread, answer from the events dispatched so far
+            return (dispatchedButtons & (1L << buttonCode)) != 0;
+        }
         try {
-            ControllerButton button = toButton(buttonCode);
-            return button != null && controllerIndex.isButtonPressed(button);
+            synchronized (SDL_LOCK) {
+                return device.isButtonPressed(button);
+            }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
         }
         return false;
     }
 
     @Override
     public float getAxis(final int axisCode) {
+        if (!connected) {
+            return 0f;
+        }
+        ControllerAxis axis = toAxis(axisCode);
+        if (axis == null) {
+            return 0.0f;
+        }
+        if (eventQueue != null) {
+            return dispatchedAxes[axisCode];
+        }
         try {
-            ControllerAxis axis = toAxis(axisCode);
-
-            if (axis == null) {
-                return 0.0f;
-            } else {
-                return controllerIndex.getAxisState(axis);
+            synchronized (SDL_LOCK) {
+                return device.getAxisState(axis);
             }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
         }
         return 0f;
     }
 
+    @Override
+    public ButtonFrameState getButtonFrames() {
+        return buttonFrames;
+    }
+
+    /** @see Controllers#isButtonJustPressed(Controller, int) */
+    public boolean isButtonJustPressed(int buttonCode) {
+        return buttonFrames.isButtonJustPressed(buttonCode);
+    }
+
+    /** @see Controllers#isButtonJustReleased(Controller, int) */
+    public boolean isButtonJustReleased(int buttonCode) {
+        return buttonFrames.isButtonJustReleased(buttonCode);
+    }
+
+    /** @see Controllers#anyButtonJustPressed(Controller) */
+    public boolean anyButtonJustPressed() {
+        return buttonFrames.anyButtonJustPressed();
+    }
+
+    @Override
+    public ControllerState getState(ControllerState out) {
+        out.reset(CONTROLLER_BUTTON_VALUES.length - 1, CONTROLLER_AXIS_VALUES.length);
+        out.setButtonBits(0, dispatchedButtons);
+        for (int i = 0; i < dispatchedAxes.length; i++) {
+            out.setAxis(i, dispatchedAxes[i]);
+        }
+        return out;
+    }
+
+    @Override
+    public long getInputAgeNanos() {
+        return lastInputNanos < 0 ? -1 : TimeUtils.nanoTime() - lastInputNanos;
+    }
+
     private String getInitialName() {
         try {
-            return controllerIndex.getName();
+            return device.getName();
         } catch (ControllerUnpluggedException | NullPointerException e) {
             // this is only called in the constructor, so disconnecting here wouldn't make sense
         }
-        return "Unknown";
+        return null;
     }
 
     @Override
@@ -94,19 +190,105 @@ public class JamepadController implements Controller {
     }
 
     public void setControllerIndex(ControllerIndex controllerIndex) {
-        this.controllerIndex = controllerIndex;
+        this.device = controllerIndex != null ? new ControllerIndexDevice(controllerIndex) : null;
+    }
+
+    public void setDevice(JamepadDevice device) {
+        this.device = device;
+    }
+
+    /**
+     * Queues the events found by {@link #update()} instead of dispatching them, for polling the
+     * controller on another thread than the one that dispatches. The polling thread must be the only
+     * producer of the queue.
+     */
+    public void setEventQueue(ControllerEventQueue eventQueue) {
+        this.eventQueue = eventQueue;
     }
 
     public void setDisconnected() {
         if (connected) {
             connected = false;
-            if (controllerIndex != null) {
-                logger.info("Failed querying controller at index: " + controllerIndex.getIndex());
+            if (device != null) {
+                logger.info("Failed querying controller at index: " + device.getIndex());
+            }
+            if (eventQueue != null) {
+                eventQueue.offer(this, ControllerEventQueue.DISCONNECTED, 0, 0, TimeUtils.nanoTime());
+            } else {
+                dispatchDisconnected();
+            }
+        }
+    }
+
+    /**
+     * Pairs this disconnected controller with the device of the same model that replaced it, so a
+     * reconnecting device keeps its controller object, listeners and player index. Called by the
+     * thread that polls, while it holds {@link #SDL_LOCK}. The connect is then sent like for a new
+     * controller, the dispatched state was already cleared with the disconnect.
+     */
+    void reconnect(JamepadDevice device) {
+        this.device = device;
+        // report the buttons and axes held on reconnect as changes with the next update
+        buttonState = 0;
+        Arrays.fill(axisState, 0);
+        connected = true;
+        if (playerIndex != PLAYER_IDX_UNSET) {
+            try {
+                device.setPlayerIndex(playerIndex);
+            } catch (ControllerUnpluggedException e) {
+                // unplugged again, the next update reports it
             }
-            compositeControllerListener.disconnected(this);
         }
     }
 
+    /** Adds the listener of the manager, unless it was added before this controller disconnected */
+    void addManagerListener(ControllerListener listener) {
+        compositeControllerListener.addIfAbsent(listener);
+    }
+
+    private void deviceFailed() {
+        // with a polling thread, only the polling thread may queue the disconnect, it finds it with its next update
+        if (eventQueue == null) {
+            setDisconnected();
+        }
+    }
+
+    /** Notifies the listeners of a disconnect, on the thread that dispatches events */
+    void dispatchDisconnected() {
+        buttonFrames.clear();
+        dispatchedButtons = 0;
+        Arrays.fill(dispatchedAxes, 0);
+        compositeControllerListener.disconnected(this);
+    }
+
+    /** Notifies the listeners of a button change, on the thread that dispatches events */
+    void dispatchButton(int buttonCode, boolean pressed, long captureNanos) {
+        lastInputNanos = captureNanos;
+        buttonFrames.setButton(buttonCode, pressed);
+        if (pressed) {
+            dispatchedButtons |= 1L << buttonCode;
+        } else {
+            dispatchedButtons &= ~(1L << buttonCode);
+        }
+        if (pressed) {
+            compositeControllerListener.buttonDown(this, buttonCode, captureNanos);
+        } else {
+            compositeControllerListener.buttonUp(this, buttonCode, captureNanos);
+        }
+    }
+
+    /** Notifies the listeners of an axis change, on the thread that dispatches events */
+    void dispatchAxis(int axisCode, float value, long captureNanos) {
+        lastInputNanos = captureNanos;
+        dispatchedAxes[axisCode] = value;
+        compositeControllerListener.axisMoved(this, axisCode, value, captureNanos);
+    }
+
+    /** Starts a new frame for the frame button queries, on the thread that dispatches events */
+    void nextFrame() {
+        buttonFrames.nextFrame();
+    }
+
     @Override
     public void addListener(ControllerListener listener) {
         compositeControllerListener.addListener(listener);
@@ -117,9 +299,38 @@ public class JamepadController implements Controller {
         compositeControllerListener.removeListener(listener);
     }
 
+    /**
+     * Samples the device and dispatches or queues the changes since the last update. The connection
+     * is checked once up front, so an unplugged device is reported without sampling it.
+     * @return false if the controller got disconnected
+     */
     public boolean update() {
-        updateButtonsState();
-        updateAxisState();
+        JamepadDevice device = this.device;
+        if (!connected || device == null || !device.isConnected()) {
+            setDisconnected();
+            return false;
+        }
+
+        // SDL reports no event times for polled state, so all changes found by this update share its sample time
+        long sampleNanos = TimeUtils.nanoTime();
+        // the whole state is sampled before dispatching, so a device unplugged meanwhile reports no partial changes
+        long buttons = 0;
+        try {
+            for (int id = 0; id < CONTROLLER_BUTTON_VALUES.length; id++) {
+                if (device.isButtonPressed(CONTROLLER_BUTTON_VALUES[id])) {
+                    buttons |= 1L << id;
+                }
+            }
+            for (int id = 0; id < CONTROLLER_AXIS_VALUES.length; id++) {
+                sampledAxes[id] = device.getAxisState(CONTROLLER_AXIS_VALUES[id]);
+            }
+        } catch (ControllerUnpluggedException e) {
+            // unplugged since the connection check
+            setDisconnected();
+            return false;
+        }
+        updateButtonsState(buttons, sampleNanos);
+        updateAxisState(sampleNanos);
         return connected;
     }
 
@@ -131,60 +342,62 @@ public class JamepadController implements Controller {
         return CODE_TO_AXIS.get(axisCode);
     }
 
-    private void updateAxisState() {
-        for (ControllerAxis axis : CONTROLLER_AXIS_VALUES) {
-            int id = axis.ordinal();
-
-            float value = getAxis(id);
-            if (value != axisState.get(id, 0)) {
+    private void updateAxisState(long sampleNanos) {
+        for (int id = 0; id < axisState.length; id++) {
+            float value = sampledAxes[id];
+            if (value != axisState[id]) {
                 if (logger.getLevel() == Logger.DEBUG) {
                     logger.debug("Axis [" + id + " - " + toAxis(id) + "] moved [" + value + "]");
                 }
-                compositeControllerListener.axisMoved(this, id, value);
-            }
-            axisState.put(id, value);
-        }
-    }
-
-    private void updateButtonsState() {
-        for (ControllerButton button : CONTROLLER_BUTTON_VALUES) {
-            int id = button.ordinal();
-
-            boolean pressed = getButton(id);
-            if (pressed != buttonState.get(id)) {
-                if (pressed) {
-                    compositeControllerListener.buttonDown(this, id);
+                if (eventQueue != null) {
+                    eventQueue.offer(this, ControllerEventQueue.AXIS_MOVED, id, value, sampleNanos);
                 } else {
-                    compositeControllerListener.buttonUp(this, id);
-                }
-
-                if (logger.getLevel() == Logger.DEBUG) {
-                    logger.debug("Button [" + id + " - " + toButton(id) + "] is " + (pressed ? "pressed" : "released"));
+                    dispatchAxis(id, value, sampleNanos);
                 }
+                axisState[id] = value;
             }
-            buttonState.put(id, pressed);
         }
     }
 
-    private void initializeState() {
-        for (ControllerAxis axis : CONTROLLER_AXIS_VALUES) {
-            axisState.put(axis.ordinal(), 0);
-        }
+    private void updateButtonsState(long buttons, long sampleNanos) {
+        // visit the changed buttons only, in ascending order
+        long changed = buttons ^ buttonState;
+        while (changed != 0) {
+            int id = Long.numberOfTrailingZeros(changed);
+            long bit = 1L << id;
+            changed &= ~bit;
+
+            boolean pressed = (buttons & bit) != 0;
+            if (eventQueue != null) {
+                eventQueue.offer(this, pressed ? ControllerEventQueue.BUTTON_DOWN : ControllerEventQueue.BUTTON_UP, id, 0, sampleNanos);
+            } else {
+                dispatchButton(id, pressed, sampleNanos);
+            }
 
-        for (ControllerButton button : CONTROLLER_BUTTON_VALUES) {
-            buttonState.put(button.ordinal(), false);
+            if (logger.getLevel() == Logger.DEBUG) {
+                logger.debug("Button [" + id + " - " + toButton(id) + "] is " + (pressed ? "pressed" : "released"));
+            }
+            buttonState ^= bit;
         }
     }
 
     @Override
     public boolean canVibrate() {
+        if (canVibrate == null && capabilities != null) {
+            canVibrate = capabilities.canVibrate;
+        }
         if (canVibrate == null) {
             try {
-                canVibrate = controllerIndex.canVibrate();
+                synchronized (SDL_LOCK) {
+                    canVibrate = device.canVibrate();
+                }
             } catch (ControllerUnpluggedException | NullPointerException e) {
-                setDisconnected();
+                deviceFailed();
                 return false;
             }
+            if (capabilities != null) {
+                capabilities.canVibrate = canVibrate;
+            }
         }
 
         return canVibrate;
@@ -198,12 +411,20 @@ public class JamepadController implements Controller {
     @Override
     public void startVibration(int duration, float strength) {
         try {
-            if (controllerIndex.doVibration(strength, strength, duration)) {
+            boolean vibrating;
+            synchronized (SDL_LOCK) {
+                vibrating = device.doVibration(strength, strength, duration);
+            }
+            if (vibrating) {
                 vibrationEndMs = TimeUtils.millis() + duration;
                 canVibrate = true;
+                if (capabilities != null && !Boolean.TRUE.equals(capabilities.canVibrate)) {
+                    // another model with the same name may have cached that this one can't vibrate
+                    capabilities.canVibrate = true;
+                }
             }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
         }
     }
 
@@ -228,19 +449,24 @@ public class JamepadController implements Controller {
     @Override
     public int getPlayerIndex() {
         try {
-            return controllerIndex.getPlayerIndex();
+            synchronized (SDL_LOCK) {
+                return device.getPlayerIndex();
+            }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
             return PLAYER_IDX_UNSET;
         }
     }
 
     @Override
     public void setPlayerIndex(int index) {
+        playerIndex = index;
         try {
-            controllerIndex.setPlayerIndex(index);
+            synchronized (SDL_LOCK) {
+                device.setPlayerIndex(index);
+            }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
         }
     }
 
@@ -254,16 +480,26 @@ public class JamepadController implements Controller {
         if (maxButtonIndex >= 0) {
             return maxButtonIndex;
         }
+        if (capabilities != null && capabilities.maxButtonIndex >= 0) {
+            maxButtonIndex = capabilities.maxButtonIndex;
+            return maxButtonIndex;
+        }
 
         maxButtonIndex = CODE_TO_BUTTON.size - 1;
         try {
-            while (maxButtonIndex > 0 && !controllerIndex.isButtonAvailable(CODE_TO_BUTTON.get(maxButtonIndex))) {
-                maxButtonIndex--;
+            synchronized (SDL_LOCK) {
+                while (maxButtonIndex > 0 && !device.isButtonAvailable(CODE_TO_BUTTON.get(maxButtonIndex))) {
+                    maxButtonIndex--;
+                }
             }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
+            return maxButtonIndex;
         }
 
+        if (capabilities != null) {
+            capabilities.maxButtonIndex = maxButtonIndex;
+        }
         return maxButtonIndex;
     }
 
@@ -272,22 +508,42 @@ public class JamepadController implements Controller {
         if (axisCount >= 0) {
             return axisCount;
         }
+        if (capabilities != null && capabilities.axisCount >= 0) {
+            axisCount = capabilities.axisCount;
+            return axisCount;
+        }
 
         axisCount = CODE_TO_AXIS.size;
         try {
-            while (axisCount > 0 && !controllerIndex.isAxisAvailable(CODE_TO_AXIS.get(axisCount - 1))) {
-                axisCount--;
+            synchronized (SDL_LOCK) {
+                while (axisCount > 0 && !device.isAxisAvailable(CODE_TO_AXIS.get(axisCount - 1))) {
+                    axisCount--;
+                }
             }
         } catch (ControllerUnpluggedException | NullPointerException e) {
-            setDisconnected();
+            deviceFailed();
+            return axisCount;
         }
 
+        if (capabilities != null) {
+            capabilities.axisCount = axisCount;
+        }
         return axisCount;
     }
 
     @Override
     public boolean isConnected() {
-        return connected && controllerIndex.isConnected();
+        if (eventQueue != null) {
+            // the polling thread checks the device with every poll
+            return connected;
+        }
+        JamepadDevice device = this.device;
+        if (!connected || device == null) {
+            return false;
+        }
+        synchronized (SDL_LOCK) {
+            return device.isConnected();
+        }
     }
 
     @Override
@@ -298,7 +554,11 @@ public class JamepadController implements Controller {
     @Override
     public ControllerPowerLevel getPowerLevel() {
         try {
-            switch (controllerIndex.getPowerLevel()) {
+            com.studiohartman.jamepad.ControllerPowerLevel powerLevel;
+            synchronized (SDL_LOCK) {
+                powerLevel = device.getPowerLevel();
+            }
+            switch (powerLevel) {
                 case POWER_MAX:
                 case POWER_FULL:
                     return ControllerPowerLevel.POWER_FULL;
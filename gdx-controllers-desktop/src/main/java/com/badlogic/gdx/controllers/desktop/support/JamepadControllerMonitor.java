@@ -1,90 +1,220 @@
 package com.badlogic.gdx.controllers.desktop.support;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.controllers.ControllerEventQueue;
 import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.ControllerMetrics;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.controllers.desktop.JamepadControllerManager;
-import com.studiohartman.jamepad.ControllerIndex;
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
 import com.studiohartman.jamepad.ControllerManager;
 import com.studiohartman.jamepad.ControllerUnpluggedException;
 
+/**
+ * Polls the devices of a {@link JamepadDeviceSource}, by default Jamepad's SDL controller manager,
+ * and dispatches the changes as controller events. By default {@link #run()} polls on
+ * the render thread once per frame. With an event queue, {@link #poll()} is called by a
+ * {@link JamepadPollingThread} instead, and {@link #run()} only dispatches the queued events on the
+ * render thread.
+ */
 public class JamepadControllerMonitor implements Runnable {
-    private final ControllerManager controllerManager;
+    private final JamepadDeviceSource deviceSource;
     private final ControllerListener listener;
-    private final IntMap<Tuple> indexToController
-        = new IntMap<>(JamepadControllerManager.jamepadConfiguration.maxNumControllers);
+    private final ControllerMetrics metrics;
+    private final IntMap<Tuple> indexToController;
     // temporary array for delaying connect messages
     private final Array<JamepadController> connectedControllers = new Array<JamepadController>();
+    private final ControllerEventQueue eventQueue;
+    // controllers connected on the render thread, only used with an event queue
+    private final Array<JamepadController> dispatchedControllers = new Array<JamepadController>();
+    // disconnected controllers, reused when a device of the same model connects unambiguously, oldest first
+    private final Array<Tuple> disconnectedTuples = new Array<Tuple>();
 
     public JamepadControllerMonitor(ControllerManager controllerManager, ControllerListener listener) {
-        this.controllerManager = controllerManager;
+        this(controllerManager, listener, null);
+    }
+
+    /**
+     * @param metrics metrics to report the time spent polling to, or null
+     */
+    public JamepadControllerMonitor(ControllerManager controllerManager, ControllerListener listener, ControllerMetrics metrics) {
+        this(controllerManager, listener, metrics, null);
+    }
+
+    /**
+     * @param metrics metrics to report the time spent polling to, or null
+     * @param eventQueue the queue to hand events from {@link #poll()} to {@link #run()}, or null to poll in {@link #run()}
+     */
+    public JamepadControllerMonitor(ControllerManager controllerManager, ControllerListener listener, ControllerMetrics metrics,
+                                    ControllerEventQueue eventQueue) {
+        // the configuration the Jamepad controller manager was created with, it has exactly this many slots
+        this(new ControllerManagerDeviceSource(controllerManager, JamepadControllerManager.jamepadConfiguration.maxNumControllers),
+            listener, metrics, eventQueue);
+    }
+
+    /**
+     * @param deviceSource the devices to poll
+     * @param metrics metrics to report the time spent polling to, or null
+     * @param eventQueue the queue to hand events from {@link #poll()} to {@link #run()}, or null to poll in {@link #run()}
+     */
+    public JamepadControllerMonitor(JamepadDeviceSource deviceSource, ControllerListener listener, ControllerMetrics metrics,
+                                    ControllerEventQueue eventQueue) {
+        this.deviceSource = deviceSource;
+        this.indexToController = new IntMap<>(deviceSource.getSlotCount());
         this.listener = listener;
+        this.metrics = metrics;
+        this.eventQueue = eventQueue;
 
         reconcileControllers();
     }
 
+    /**
+     * @return the number of events a single {@link #poll()} can queue at most. Polling threads only
+     * poll if the queue has room for that many, so no event is ever dropped.
+     */
+    public int getMaxEventsPerPoll() {
+        return getMaxEventsPerPoll(deviceSource.getSlotCount());
+    }
+
+    /** @return the number of events a single {@link #poll()} of a source with the given slot count can queue at most */
+    public static int getMaxEventsPerPoll(int slotCount) {
+        // a connect and a disconnect per controller slot, and a change of every button and axis
+        return slotCount * (2 + ControllerButton.values().length + ControllerAxis.values().length);
+    }
+
     @Override
     public void run() {
-        boolean controllersChanged = controllerManager.update();
+        long pollStart = metrics != null ? metrics.drainStarted() : 0;
+        int drained = 0;
+        if (eventQueue == null) {
+            poll();
+            for (Tuple tuple : indexToController.values()) {
+                tuple.controller.nextFrame();
+            }
+        } else {
+            drained = dispatchQueuedEvents();
+            for (JamepadController controller : dispatchedControllers) {
+                controller.nextFrame();
+            }
+        }
 
-        if (controllersChanged) {
-            reconcileControllers();
+        if (metrics != null) {
+            metrics.drainFinished(pollStart, drained);
+            metrics.frameFinished();
         }
+        Gdx.app.postRunnable(this);
+    }
 
-        update();
+    /**
+     * Samples all controllers and dispatches or queues their changes. Without an event queue this is
+     * called by {@link #run()}, otherwise it must only be called by the polling thread. Holds
+     * {@link JamepadController#SDL_LOCK} for the whole poll.
+     */
+    public void poll() {
+        synchronized (JamepadController.SDL_LOCK) {
+            boolean controllersChanged = deviceSource.update();
 
-        Gdx.app.postRunnable(this);
+            if (controllersChanged) {
+                reconcileControllers();
+            }
+
+            update();
+        }
+    }
+
+    private int dispatchQueuedEvents() {
+        int count = 0;
+        while (eventQueue.next()) {
+            JamepadController controller = (JamepadController) eventQueue.getController();
+            switch (eventQueue.getType()) {
+                case ControllerEventQueue.CONNECTED:
+                    dispatchedControllers.add(controller);
+                    controller.addManagerListener(listener);
+                    listener.connected(controller);
+                    break;
+                case ControllerEventQueue.DISCONNECTED:
+                    dispatchedControllers.removeValue(controller, true);
+                    controller.dispatchDisconnected();
+                    break;
+                case ControllerEventQueue.BUTTON_DOWN:
+                    controller.dispatchButton(eventQueue.getCode(), true, eventQueue.getCaptureNanos());
+                    break;
+                case ControllerEventQueue.BUTTON_UP:
+                    controller.dispatchButton(eventQueue.getCode(), false, eventQueue.getCaptureNanos());
+                    break;
+                case ControllerEventQueue.AXIS_MOVED:
+                    controller.dispatchAxis(eventQueue.getCode(), eventQueue.getValue(), eventQueue.getCaptureNanos());
+                    break;
+                default:
+            }
+            count++;
+        }
+        return count;
     }
 
     private void reconcileControllers() {
         // Break old connections to help detect disconnected objects later.
         for (Tuple tuple : indexToController.values()) {
             JamepadController controller = tuple.controller;
-            tuple.index = null;
-            controller.setControllerIndex(null);
+            tuple.device = null;
+            controller.setDevice(null);
         }
 
         // Get already-connected controllers paired with their existing objects.
         // Create objects for new controllers, but don't send connect messages yet.
         connectedControllers.clear();
-        int numControllers = JamepadControllerManager.jamepadConfiguration.maxNumControllers;
-        for (int i = 0; i < numControllers; i++) try {
-            ControllerIndex controllerIndex = controllerManager.getControllerIndex(i);
+        // more controllers than the source has slots for are ignored
+        int slotCount = deviceSource.getSlotCount();
+        for (int i = 0; i < slotCount; i++) {
+            JamepadDevice device = deviceSource.getDevice(i);
+            if (device == null || !device.isConnected()) {
+                // empty slot, no need to pair it
+                continue;
+            }
             try {
-                int instanceID = controllerIndex.getDeviceInstanceID();
+                int instanceID = device.getInstanceId();
                 if (indexToController.containsKey(instanceID)) {
                     // Pre-existing controller, pair with existing object.
                     Tuple tuple1 = indexToController.get(instanceID);
-                    tuple1.index = controllerIndex;
-                    tuple1.controller.setControllerIndex(controllerIndex);
+                    tuple1.device = device;
+                    tuple1.controller.setDevice(device);
                 } else {
-                    // New controller. Create new object, and store it for connect message later.
-                    Tuple tuple1 = new Tuple(controllerIndex);
+                    // New controller. Reuse the object of a disconnected one of the same model, or create a new one,
+                    // and store it for connect message later.
+                    Tuple tuple1 = takeDisconnected(device);
+                    if (tuple1 == null) {
+                        tuple1 = new Tuple(device);
+                    }
                     indexToController.put(instanceID, tuple1);
                     connectedControllers.add(tuple1.controller);
                 }
             } catch (ControllerUnpluggedException e) {
-                // controller not connected, no need to pair it
+                // unplugged since the connection check
             }
-        } catch (ArrayIndexOutOfBoundsException t) {
-            // more controllers connected than we can handle according to our config
         }
 
         // Remove disconnected objects.
         IntMap.Values<Tuple> values = indexToController.values();
         while (values.hasNext()) {
             Tuple tuple = values.next();
-            if (tuple.index == null) {
+            if (tuple.device == null) {
                 tuple.controller.setDisconnected();
                 values.remove();
+                keepDisconnected(tuple);
             }
         }
 
         // Set up listeners for new controllers and send connect messages.
         for (JamepadController controller: connectedControllers) {
-            controller.addListener(listener);
-            listener.connected(controller);
+            if (eventQueue != null) {
+                eventQueue.offer(controller, ControllerEventQueue.CONNECTED, 0, 0, TimeUtils.nanoTime());
+            } else {
+                controller.addManagerListener(listener);
+                listener.connected(controller);
+            }
         }
     }
 
@@ -97,17 +227,70 @@ public class JamepadControllerMonitor implements Runnable {
 
             if (!connected) {
                 values.remove();
+                keepDisconnected(tuple);
+            }
+        }
+    }
+
+    private void keepDisconnected(Tuple tuple) {
+        tuple.device = null;
+        disconnectedTuples.add(tuple);
+        // a device that doesn't come back within this many disconnects of others is forgotten
+        if (disconnectedTuples.size > deviceSource.getSlotCount()) {
+            disconnectedTuples.removeIndex(0);
+        }
+    }
+
+    /**
+     * @return a disconnected controller of the same model as the device, reconnected to it, or null. Jamepad
+     * exposes no serial numbers, so a controller is only reused if it is the only disconnected one with the
+     * name of the device, or the only one of those that was in the same slot. Otherwise two identical pads
+     * could swap their controllers, listeners and player indices, and the device gets a new controller.
+     */
+    private Tuple takeDisconnected(JamepadDevice device) throws ControllerUnpluggedException {
+        if (disconnectedTuples.size == 0) {
+            return null;
+        }
+
+        String name = device.getName();
+        int slot = device.getIndex();
+        int nameMatch = -1;
+        int nameMatches = 0;
+        int slotMatch = -1;
+        int slotMatches = 0;
+        for (int i = 0; i < disconnectedTuples.size; i++) {
+            Tuple tuple = disconnectedTuples.get(i);
+            if (tuple.controller.getName().equals(name)) {
+                nameMatch = i;
+                nameMatches++;
+                if (tuple.slot == slot) {
+                    slotMatch = i;
+                    slotMatches++;
+                }
             }
         }
+        int match = nameMatches == 1 ? nameMatch : slotMatches == 1 ? slotMatch : -1;
+        if (match < 0) {
+            return null;
+        }
+
+        Tuple tuple = disconnectedTuples.removeIndex(match);
+        tuple.device = device;
+        tuple.slot = slot;
+        tuple.controller.reconnect(device);
+        return tuple;
     }
 
     private class Tuple {
-        public ControllerIndex index;
+        public JamepadDevice device;
+        public int slot;
         public final JamepadController controller;
 
-        public Tuple(ControllerIndex index) {
-            this.index = index;
-            this.controller = new JamepadController(index);
+        public Tuple(JamepadDevice device) {
+            this.device = device;
+            this.slot = device.getIndex();
+            this.controller = new JamepadController(device);
+            this.controller.setEventQueue(eventQueue);
         }
     }
 }
@@ -0,0 +1,40 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+import com.studiohartman.jamepad.ControllerPowerLevel;
+import com.studiohartman.jamepad.ControllerUnpluggedException;
+
+/**
+ * The calls {@link JamepadController} and {@link JamepadControllerMonitor} make to the physical device. The default implementation
+ * {@link ControllerIndexDevice} forwards to Jamepad's {@link com.studiohartman.jamepad.ControllerIndex},
+ * other implementations allow driving a controller without SDL, for example in benchmarks.
+ */
+public interface JamepadDevice {
+    int getIndex();
+
+    /** @return an id of the device that stays the same while it is connected, even if its slot changes */
+    int getInstanceId() throws ControllerUnpluggedException;
+
+    boolean isConnected();
+
+    String getName() throws ControllerUnpluggedException;
+
+    boolean isButtonPressed(ControllerButton button) throws ControllerUnpluggedException;
+
+    float getAxisState(ControllerAxis axis) throws ControllerUnpluggedException;
+
+    boolean isButtonAvailable(ControllerButton button) throws ControllerUnpluggedException;
+
+    boolean isAxisAvailable(ControllerAxis axis) throws ControllerUnpluggedException;
+
+    boolean canVibrate() throws ControllerUnpluggedException;
+
+    boolean doVibration(float leftMagnitude, float rightMagnitude, int duration) throws ControllerUnpluggedException;
+
+    int getPlayerIndex() throws ControllerUnpluggedException;
+
+    void setPlayerIndex(int index) throws ControllerUnpluggedException;
+
+    ControllerPowerLevel getPowerLevel() throws ControllerUnpluggedException;
+}
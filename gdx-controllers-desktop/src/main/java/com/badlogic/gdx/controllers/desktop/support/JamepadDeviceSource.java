@@ -0,0 +1,23 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+/**
+ * The devices {@link JamepadControllerMonitor} polls, organized in a fixed number of slots. The
+ * default implementation {@link ControllerManagerDeviceSource} uses Jamepad's SDL controller manager,
+ * {@link InMemoryDeviceSource} holds scripted devices and needs no native libraries.
+ */
+public interface JamepadDeviceSource {
+    /**
+     * Updates the devices, called once before every poll.
+     * @return true if devices were connected or disconnected since the last update
+     */
+    boolean update();
+
+    /** @return the number of slots, fixed for the lifetime of the source */
+    int getSlotCount();
+
+    /**
+     * @return the device in the slot. Empty slots may return null or a device that is not
+     * {@link JamepadDevice#isConnected() connected}.
+     */
+    JamepadDevice getDevice(int slot);
+}
@@ -0,0 +1,67 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.badlogic.gdx.controllers.ControllerEventQueue;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Calls {@link JamepadControllerMonitor#poll()} at a fixed rate, independent of the frame rate. The
+ * monitor queues the changes, and dispatches them on the render thread with its next
+ * {@link JamepadControllerMonitor#run()}.
+ * <p>
+ * If the render thread stalls and the queue can't take the events of another poll, polling pauses
+ * until the render thread catches up, so events are delayed but never dropped.
+ */
+public class JamepadPollingThread extends Thread {
+    private final JamepadControllerMonitor monitor;
+    private final ControllerEventQueue eventQueue;
+    private final long periodNanos;
+    private final int maxEventsPerPoll;
+    private volatile boolean running = true;
+
+    /**
+     * @param monitor a monitor created with the given event queue
+     * @param pollingRate polls per second
+     */
+    public JamepadPollingThread(JamepadControllerMonitor monitor, ControllerEventQueue eventQueue, int pollingRate) {
+        super("Jamepad polling");
+        if (pollingRate <= 0) {
+            throw new IllegalArgumentException("pollingRate must be positive: " + pollingRate);
+        }
+        this.monitor = monitor;
+        this.eventQueue = eventQueue;
+        this.periodNanos = 1000000000L / pollingRate;
+        this.maxEventsPerPoll = monitor.getMaxEventsPerPoll();
+        setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        long nextPoll = System.nanoTime();
+        while (running) {
+            if (eventQueue.remaining() >= maxEventsPerPoll) {
+                monitor.poll();
+            }
+
+            nextPoll += periodNanos;
+            long wait = nextPoll - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            } else {
+                // fell behind, don't try to catch up with a burst of polls
+                nextPoll = System.nanoTime();
+            }
+        }
+    }
+
+    /** Stops polling and waits for the current poll to finish, so SDL can be shut down afterwards */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Plugs and unplugs {@link InMemoryJamepadDevice}s and checks which controller
+ * {@link JamepadControllerMonitor} connects for a device that comes back.
+ */
+public class JamepadControllerMonitorTest {
+    private InMemoryDeviceSource source;
+    private ConnectionListener listener;
+    private JamepadControllerMonitor monitor;
+
+    @Before
+    public void setUp() {
+        source = new InMemoryDeviceSource(3);
+        listener = new ConnectionListener();
+        monitor = new JamepadControllerMonitor(source, listener, null, null);
+    }
+
+    @Test
+    public void reusesTheOnlyControllerWithTheName() {
+        Controller first = plug(new InMemoryJamepadDevice("Test pad"));
+        plug(new InMemoryJamepadDevice("Other pad"));
+        unplug(0);
+
+        plug(new InMemoryJamepadDevice("Another pad"));
+        // slot 2, another slot than before
+        assertSame(first, plug(new InMemoryJamepadDevice("Test pad")));
+    }
+
+    @Test
+    public void reusesTheControllerOfTheSameSlot() {
+        Controller first = plug(new InMemoryJamepadDevice("Test pad"));
+        Controller second = plug(new InMemoryJamepadDevice("Test pad"));
+        unplug(0);
+        unplug(1);
+
+        plug(new InMemoryJamepadDevice("Other pad"));
+        // slot 1, where the second pad was
+        assertSame(second, plug(new InMemoryJamepadDevice("Test pad")));
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void createsAControllerIfTheMatchIsAmbiguous() {
+        Controller first = plug(new InMemoryJamepadDevice("Test pad"));
+        Controller second = plug(new InMemoryJamepadDevice("Test pad"));
+        unplug(0);
+        unplug(1);
+
+        plug(new InMemoryJamepadDevice("Other pad"));
+        plug(new InMemoryJamepadDevice("Another pad"));
+        // slot 2, where neither pad was
+        Controller third = plug(new InMemoryJamepadDevice("Test pad"));
+        assertNotSame(first, third);
+        assertNotSame(second, third);
+    }
+
+    /** @return the controller connected for the device */
+    private Controller plug(InMemoryJamepadDevice device) {
+        source.plug(device);
+        int connected = listener.connected.size();
+        monitor.poll();
+        assertEquals(connected + 1, listener.connected.size());
+        return listener.connected.get(connected);
+    }
+
+    private void unplug(int slot) {
+        source.unplug(slot);
+        monitor.poll();
+    }
+
+    static class ConnectionListener extends ControllerAdapter {
+        final List<Controller> connected = new ArrayList<>();
+
+        @Override
+        public void connected(Controller controller) {
+            connected.add(controller);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.badlogic.gdx.controllers.desktop.support;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.studiohartman.jamepad.ControllerAxis;
+import com.studiohartman.jamepad.ControllerButton;
+import com.studiohartman.jamepad.ControllerUnpluggedException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives {@link JamepadController#update()} with an {@link InMemoryJamepadDevice} and checks the
+ * events it dispatches for the state it diffs.
+ */
+public class JamepadControllerTest {
+    private InMemoryDeviceSource source;
+    private RecordingListener listener;
+
+    @Before
+    public void setUp() {
+        source = new InMemoryDeviceSource(4);
+        listener = new RecordingListener();
+    }
+
+    @Test
+    public void dispatchesButtonChangesOnce() {
+        InMemoryJamepadDevice device = new InMemoryJamepadDevice("Test pad");
+        JamepadController controller = plug(device);
+
+        assertTrue(controller.update());
+        assertTrue(listener.events.isEmpty());
+
+        device.setButton(ControllerButton.A, true);
+        device.setButton(ControllerButton.START, true);
+        assertTrue(controller.update());
+        assertTrue(controller.update());
+        device.setButton(ControllerButton.A, false);
+        assertTrue(controller.update());
+
+        assertEquals(Arrays.asList(
+            "down " + ControllerButton.A.ordinal(),
+            "down " + ControllerButton.START.ordinal(),
+            "up " + ControllerButton.A.ordinal()), listener.events);
+    }
+
+    @Test
+    public void dispatchesAxisChanges() {
+        InMemoryJamepadDevice device = new InMemoryJamepadDevice("Test pad");
+        JamepadController controller = plug(device);
+
+        device.setAxis(ControllerAxis.LEFTX, 0.5f);
+        assertTrue(controller.update());
+        assertTrue(controller.update());
+        device.setAxis(ControllerAxis.LEFTX, 0f);
+        device.setAxis(ControllerAxis.TRIGGERRIGHT, 1f);
+        assertTrue(controller.update());
+
+        assertEquals(Arrays.asList(
+            "axis " + ControllerAxis.LEFTX.ordinal() + " 0.5",
+            "axis " + ControllerAxis.LEFTX.ordinal() + " 0.0",
+            "axis " + ControllerAxis.TRIGGERRIGHT.ordinal() + " 1.0"), listener.events);
+        assertEquals(1f, controller.getAxis(ControllerAxis.TRIGGERRIGHT.ordinal()), 0f);
+    }
+
+    @Test
+    public void reportsOnlyTheDisconnectWhenUnpluggedWhileSampling() {
+        // unplugged after the buttons were sampled, like a device removed between two native calls
+        InMemoryJamepadDevice device = new InMemoryJamepadDevice("Test pad") {
+            @Override
+            public float getAxisState(ControllerAxis axis) throws ControllerUnpluggedException {
+                if (isConnected()) {
+                    source.unplug(getIndex());
+                }
+                return super.getAxisState(axis);
+            }
+        };
+        JamepadController controller = plug(device);
+
+        device.setButton(ControllerButton.B, true);
+        assertFalse(controller.update());
+        assertFalse(controller.update());
+
+        assertEquals(Arrays.asList("disconnected"), listener.events);
+        assertFalse(controller.isConnected());
+        assertFalse(controller.getButton(ControllerButton.B.ordinal()));
+    }
+
+    private JamepadController plug(InMemoryJamepadDevice device) {
+        source.plug(device);
+        JamepadController controller = new JamepadController(device);
+        controller.addListener(listener);
+        return controller;
+    }
+
+    static class RecordingListener extends ControllerAdapter {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void disconnected(Controller controller) {
+            events.add("disconnected");
+        }
+
+        @Override
+        public boolean buttonDown(Controller controller, int buttonIndex) {
+            events.add("down " + buttonIndex);
+            return false;
+        }
+
+        @Override
+        public boolean buttonUp(Controller controller, int buttonIndex) {
+            events.add("up " + buttonIndex);
+            return false;
+        }
+
+        @Override
+        public boolean axisMoved(Controller controller, int axisIndex, float value) {
+            events.add("axis " + axisIndex + " " + value);
+            return false;
+        }
+    }
+}
@@ -16,25 +16,33 @@
 
 package com.badlogic.gdx.controllers.gwt;
 
+import com.badlogic.gdx.controllers.ButtonFrameState;
 import com.badlogic.gdx.controllers.Controller;
 import com.badlogic.gdx.controllers.ControllerListener;
+import com.badlogic.gdx.controllers.ControllerListenerRegistry;
 import com.badlogic.gdx.controllers.ControllerMapping;
 import com.badlogic.gdx.controllers.ControllerPowerLevel;
+import com.badlogic.gdx.controllers.ControllerState;
+import com.badlogic.gdx.controllers.Controllers;
 import com.badlogic.gdx.controllers.gwt.support.Gamepad;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntFloatMap;
 import com.badlogic.gdx.utils.TimeUtils;
 
-public class GwtController implements Controller {
+public class GwtController implements Controller, ButtonFrameState.Owner {
 
 	private int index;
 	private String name;
 	private boolean standardMapping;
 	protected final float[] axes;
+	// queued axis events not dispatched yet, updated in place when the axis moves again
+	final GwtControllerEvent[] pendingAxisEvents;
 	protected final IntFloatMap buttons = new IntFloatMap();
+	protected final ButtonFrameState buttonFrames;
 	boolean connected = true;
+	long lastInputNanos = -1;
 
-	private final Array<ControllerListener> listeners = new Array<ControllerListener>();
+	private final ControllerListenerRegistry listeners = new ControllerListenerRegistry();
 	private final int buttonCount;
 	private long vibrationEndMs;
 
@@ -44,10 +52,21 @@ public class GwtController implements Controller {
 		
 		Gamepad gamepad = Gamepad.getGamepad(index);
 		axes = new float[gamepad.getAxes().length()];
+		pendingAxisEvents = new GwtControllerEvent[axes.length];
 		buttonCount = gamepad.getButtons().length();
+		buttonFrames = new ButtonFrameState(buttonCount - 1);
 		standardMapping = gamepad.getMapping().equals("standard");
 	}
 	
+	/** Resets the state of a disconnected controller, so it starts clean if it reconnects */
+	void clearState() {
+		buttons.clear();
+		buttonFrames.clear();
+		for (int i = 0; i < axes.length; i++) {
+			axes[i] = 0;
+		}
+	}
+
 	public int getIndex() {
 		return index;
 	}
@@ -64,6 +83,11 @@ public class GwtController implements Controller {
 		return buttons.get(buttonCode, 0) >= 0.5f;
 	}
 
+	@Override
+	public long getInputAgeNanos() {
+		return lastInputNanos < 0 ? -1 : TimeUtils.nanoTime() - lastInputNanos;
+	}
+
 	public float getButtonValue(int buttonCode) {
 		return buttons.get(buttonCode, 0);
 	}
@@ -74,6 +98,39 @@ public class GwtController implements Controller {
 		return axes[axisIndex];
 	}
 
+	@Override
+	public ButtonFrameState getButtonFrames() {
+		return buttonFrames;
+	}
+
+	/** @see Controllers#isButtonJustPressed(Controller, int) */
+	public boolean isButtonJustPressed(int buttonCode) {
+		return buttonFrames.isButtonJustPressed(buttonCode);
+	}
+
+	/** @see Controllers#isButtonJustReleased(Controller, int) */
+	public boolean isButtonJustReleased(int buttonCode) {
+		return buttonFrames.isButtonJustReleased(buttonCode);
+	}
+
+	/** @see Controllers#anyButtonJustPressed(Controller) */
+	public boolean anyButtonJustPressed() {
+		return buttonFrames.anyButtonJustPressed();
+	}
+
+	@Override
+	public ControllerState getState(ControllerState out) {
+		out.reset(buttonCount - 1, axes.length);
+		for (int i = 0; i < buttonCount; i++) {
+			if (getButton(i))
+				out.setButton(i, true);
+		}
+		for (int i = 0; i < axes.length; i++) {
+			out.setAxis(i, axes[i]);
+		}
+		return out;
+	}
+
 	@Override
 	public boolean canVibrate() {
 		return Gamepad.getGamepad(index).canVibrate();
@@ -155,10 +212,14 @@ public class GwtController implements Controller {
 
 	@Override
 	public void removeListener(ControllerListener listener) {
-		this.listeners.removeValue(listener, true);
+		this.listeners.remove(listener);
 	}
 	
 	public Array<ControllerListener> getListeners() {
+		return listeners.getListeners();
+	}
+
+	public ControllerListenerRegistry getListenerRegistry() {
 		return listeners;
 	}
 }
\ No newline at end of file
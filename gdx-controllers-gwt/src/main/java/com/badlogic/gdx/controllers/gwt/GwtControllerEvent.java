@@ -32,5 +32,7 @@ public class GwtControllerEvent {
 	public int code;
 	/** the value if this is an #AXIS, a #BUTTON_DOWN, or a #BUTTON_UP event **/
 	public float amount;
+	/** the time the input was captured, on the {@link com.badlogic.gdx.utils.TimeUtils#nanoTime()} timeline **/
+	public long timeNanos;
 
 }
\ No newline at end of file
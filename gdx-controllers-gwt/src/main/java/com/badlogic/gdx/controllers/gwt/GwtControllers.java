@@ -18,7 +18,6 @@ package com.badlogic.gdx.controllers.gwt;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.controllers.AbstractControllerManager;
-import com.badlogic.gdx.controllers.ControllerListener;
 import com.badlogic.gdx.controllers.gwt.support.Gamepad;
 import com.badlogic.gdx.controllers.gwt.support.GamepadButton;
 import com.badlogic.gdx.controllers.gwt.support.GamepadSupport;
@@ -26,13 +25,15 @@ import com.badlogic.gdx.controllers.gwt.support.GamepadSupportListener;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.JsArrayNumber;
 
 public class GwtControllers extends AbstractControllerManager implements GamepadSupportListener {
 
 	private final IntMap<GwtController> controllerMap = new IntMap<GwtController>();
-	private final Array<ControllerListener> listeners = new Array<ControllerListener>();
+	// disconnected controllers by gamepad index, reused if the same gamepad comes back
+	private final IntMap<GwtController> disconnectedControllers = new IntMap<GwtController>();
 	private final Array<GwtControllerEvent> eventQueue = new Array<GwtControllerEvent>();
 	private final Pool<GwtControllerEvent> eventPool = new Pool<GwtControllerEvent>() {
 		@Override
@@ -53,79 +54,68 @@ public class GwtControllers extends AbstractControllerManager implements Gamepad
 			@Override
 			public void run () {
 				synchronized (eventQueue) {
+					long drainStart = metrics.drainStarted();
+					int drained = eventQueue.size;
 					for (GwtControllerEvent event : eventQueue) {
 						switch (event.type) {
 						case GwtControllerEvent.CONNECTED:
 							controllers.add(event.controller);
-							for (ControllerListener listener : listeners) {
-								listener.connected(event.controller);
-							}
+							listeners.connected(event.controller);
 							break;
 						case GwtControllerEvent.DISCONNECTED:
 							controllers.removeValue(event.controller, true);
-							for (ControllerListener listener : listeners) {
-								listener.disconnected(event.controller);
-							}
-							for (ControllerListener listener : event.controller.getListeners()) {
-								listener.disconnected(event.controller);
-							}
+							event.controller.clearState();
+							listeners.disconnected(event.controller);
+							event.controller.getListenerRegistry().disconnected(event.controller);
 							break;
 						case GwtControllerEvent.BUTTON_DOWN:
 							event.controller.buttons.put(event.code, event.amount);
-							for (ControllerListener listener : listeners) {
-								if (listener.buttonDown(event.controller, event.code)) break;
-							}
-							for (ControllerListener listener : event.controller.getListeners()) {
-								if (listener.buttonDown(event.controller, event.code)) break;
-							}
+							event.controller.buttonFrames.setButton(event.code, true);
+							event.controller.lastInputNanos = event.timeNanos;
+							listeners.buttonDown(event.controller, event.code, event.timeNanos);
+							event.controller.getListenerRegistry().buttonDown(event.controller, event.code, event.timeNanos);
 							break;
 						case GwtControllerEvent.BUTTON_UP:
 							event.controller.buttons.remove(event.code, event.amount);
-							for (ControllerListener listener : listeners) {
-								if (listener.buttonUp(event.controller, event.code)) break;
-							}
-							for (ControllerListener listener : event.controller.getListeners()) {
-								if (listener.buttonUp(event.controller, event.code)) break;
-							}
+							event.controller.buttonFrames.setButton(event.code, false);
+							event.controller.lastInputNanos = event.timeNanos;
+							listeners.buttonUp(event.controller, event.code, event.timeNanos);
+							event.controller.getListenerRegistry().buttonUp(event.controller, event.code, event.timeNanos);
 							break;
 						case GwtControllerEvent.AXIS:
+							event.controller.pendingAxisEvents[event.code] = null;
+							if (event.controller.axes[event.code] == event.amount) break;
 							event.controller.axes[event.code] = event.amount;
-							for (ControllerListener listener : listeners) {
-								if (listener.axisMoved(event.controller, event.code, event.amount)) break;
-							}
-							for (ControllerListener listener : event.controller.getListeners()) {
-								if (listener.axisMoved(event.controller, event.code, event.amount)) break;
-							}
+							event.controller.lastInputNanos = event.timeNanos;
+							listeners.axisMoved(event.controller, event.code, event.amount, event.timeNanos);
+							event.controller.getListenerRegistry().axisMoved(event.controller, event.code, event.amount, event.timeNanos);
 							break;
 						default:
 						}
 					}
 					eventPool.freeAll(eventQueue);
 					eventQueue.clear();
+					metrics.drainFinished(drainStart, drained);
 				}
+				for (int i = 0; i < controllers.size; i++) {
+					((GwtController)controllers.get(i)).buttonFrames.nextFrame();
+				}
+				metrics.frameFinished();
 				Gdx.app.postRunnable(this);
 			}
 		}.run();
 	}
 
-	@Override
-	public void addListener (ControllerListener listener) {
-		synchronized (eventQueue) {
-			listeners.add(listener);
-		}
-	}
-
-	@Override
-	public void removeListener (ControllerListener listener) {
-		synchronized (eventQueue) {
-			listeners.removeValue(listener, true);
-		}
-	}
-
 	@Override
 	public void onGamepadConnected (int index) {
 		Gamepad gamepad = Gamepad.getGamepad(index);
-		GwtController controller = new GwtController(gamepad.getIndex(), gamepad.getId());
+		// browsers keep the index of a gamepad that is plugged back in
+		GwtController controller = disconnectedControllers.remove(index);
+		if (controller != null && controller.getName().equals(gamepad.getId())) {
+			controller.connected = true;
+		} else {
+			controller = new GwtController(gamepad.getIndex(), gamepad.getId());
+		}
 		controllerMap.put(index, controller);
 		synchronized (eventQueue) {
 			GwtControllerEvent event = eventPool.obtain();
@@ -139,6 +129,7 @@ public class GwtControllers extends AbstractControllerManager implements Gamepad
 	public void onGamepadDisconnected (int index) {
 		GwtController controller = controllerMap.remove(index);
 		if (controller != null) {
+			disconnectedControllers.put(index, controller);
 			synchronized (eventQueue) {
 			    controller.connected = false;
 				GwtControllerEvent event = eventPool.obtain();
@@ -157,17 +148,26 @@ public class GwtControllers extends AbstractControllerManager implements Gamepad
 			// Determine what changed
 			JsArrayNumber axes = gamepad.getAxes();
 			JsArray<GamepadButton> buttons = gamepad.getButtons();
+			// the gamepad timestamp is when the browser sampled it, rebase it onto the nanoTime() timeline
+			long timeNanos = TimeUtils.nanoTime() - (long)((GamepadSupport.now() - gamepad.getTimestamp()) * 1000000);
 			synchronized (eventQueue) {
 				for (int i = 0, j = axes.length(); i < j; i++) {
 					float oldAxis = controller.getAxis(i);
 					float newAxis = (float)axes.get(i);
-					if (oldAxis != newAxis) {
+					GwtControllerEvent pending = controller.pendingAxisEvents[i];
+					if (pending != null) {
+						// the axis moved again before its last event was dispatched, only dispatch the latest value
+						pending.amount = newAxis;
+						pending.timeNanos = timeNanos;
+					} else if (oldAxis != newAxis) {
 						GwtControllerEvent event = eventPool.obtain();
 						event.type = GwtControllerEvent.AXIS;
 						event.controller = controller;
 						event.code = i;
 						event.amount = newAxis;
+						event.timeNanos = timeNanos;
 						eventQueue.add(event);
+						controller.pendingAxisEvents[i] = event;
 					}
 				}
 				for (int i = 0, j = buttons.length(); i < j; i++) {
@@ -184,21 +184,11 @@ public class GwtControllers extends AbstractControllerManager implements Gamepad
 						event.controller = controller;
 						event.code = i;
 						event.amount = newButton;
+						event.timeNanos = timeNanos;
 						eventQueue.add(event);
 					}
 				}
 			}
 		}
 	}
-
-	@Override
-	public void clearListeners () {
-		listeners.clear();
-		listeners.add(new ManageCurrentControllerListener());
-	}
-
-	@Override
-	public Array<ControllerListener> getListeners () {
-		return listeners;
-	}
 }
@@ -131,6 +131,11 @@ public class GamepadSupport {
 		return navigator.getGamepads();
 	}-*/;
 	
+	/** @return the current time in milliseconds on the clock of {@link Gamepad#getTimestamp()} */
+	public static native double now() /*-{
+		return $wnd.performance.now();
+	}-*/;
+
 	public static native void consoleLog(String message) /*-{
 		$wnd.console.log(message);
 	}-*/;
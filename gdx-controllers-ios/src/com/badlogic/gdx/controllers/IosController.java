@@ -301,6 +301,19 @@ public class IosController extends AbstractController {
             return false;
     }
 
+    @Override
+    public ControllerState getState(ControllerState out) {
+        out.reset(pressedButtons.length - 1, axisValues.length);
+        for (int i = 0; i < pressedButtons.length; i++) {
+            if (pressedButtons[i])
+                out.setButton(i, true);
+        }
+        for (int i = 0; i < axisValues.length; i++) {
+            out.setAxis(i, axisValues[i]);
+        }
+        return out;
+    }
+
     protected GCControllerAxisInput getAxisFromConst(int i) {
         switch (i) {
             case 0:
@@ -13,12 +13,28 @@ import org.robovm.objc.Selector;
 import org.robovm.objc.block.VoidBlock1;
 
 public class IosControllerManager extends AbstractControllerManager {
-	private final Array<ControllerListener> listeners = new Array<>();
 	private boolean initialized = false;
 	private ICadeController iCadeController;
 
 	public IosControllerManager() {
 		listeners.add(new ManageCurrentControllerListener());
+		setupFrameTick();
+	}
+
+	private void setupFrameTick() {
+		// controller callbacks arrive between frames, start a new frame for the edge queries before each render
+		new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < controllers.size; i++) {
+					Controller controller = controllers.get(i);
+					if (controller instanceof AbstractController)
+						((AbstractController) controller).nextFrame();
+				}
+				metrics.frameFinished();
+				Gdx.app.postRunnable(this);
+			}
+		}.run();
 	}
 
 	public static void enableICade(UIViewController controller, Selector action) {
@@ -47,10 +63,7 @@ public class IosControllerManager extends AbstractControllerManager {
 			iCadeController = new ICadeController();
 			controllers.add(iCadeController);
 
-			synchronized (listeners) {
-				for (ControllerListener listener : listeners)
-					listener.connected(iCadeController);
-			}
+			listeners.connected(iCadeController);
 		}
 
 		iCadeController.handleKeyPressed(sender.getInput());
@@ -116,10 +129,7 @@ public class IosControllerManager extends AbstractControllerManager {
 			IosController iosController = new IosController(gcController);
 			controllers.add(iosController);
 
-			synchronized (listeners) {
-				for (ControllerListener listener : listeners)
-					listener.connected(iosController);
-			}
+			listeners.connected(iosController);
 		}
 	}
 
@@ -134,10 +144,7 @@ public class IosControllerManager extends AbstractControllerManager {
 		if (oldReference != null) {
 			controllers.removeValue(oldReference, true);
 
-			synchronized (listeners) {
-				for (ControllerListener listener : listeners)
-					listener.disconnected(oldReference);
-			}
+			listeners.disconnected(oldReference);
 
 			oldReference.dispose();
 		}
@@ -146,31 +153,12 @@ public class IosControllerManager extends AbstractControllerManager {
 	@Override
 	public void addListener(ControllerListener controllerListener) {
 		initializeControllerArray();
-
-		synchronized (listeners) {
-			if (!listeners.contains(controllerListener, true))
-				listeners.add(controllerListener);
-		}
+		listeners.addIfAbsent(controllerListener);
 	}
 
 	@Override
-	public void removeListener(ControllerListener controllerListener) {
-		synchronized (listeners) {
-			listeners.removeValue(controllerListener, true);
-		}
-	}
-
-	@Override
-	public Array<ControllerListener> getListeners() {
-		return listeners;
-	}
-
-	@Override
-	public void clearListeners() {
-		synchronized (listeners) {
-			listeners.clear();
-			listeners.add(new ManageCurrentControllerListener());
-		}
+	public void addListener(ControllerListener controllerListener, ListenerFilter filter) {
+		initializeControllerArray();
+		listeners.addIfAbsent(controllerListener, filter);
 	}
 }
-
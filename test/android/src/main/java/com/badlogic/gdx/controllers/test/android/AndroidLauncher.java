@@ -20,6 +20,8 @@ import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
+import com.badlogic.gdx.controllers.Controllers;
+import com.badlogic.gdx.controllers.android.AndroidControllers;
 import com.badlogic.gdx.controllers.test.ControllersTest;
 
 /** Launches the Android application. */
@@ -28,6 +30,13 @@ public class AndroidLauncher extends AndroidApplication {
 	protected void onCreate (Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration configuration = new AndroidApplicationConfiguration();
-		initialize(new ControllersTest(), configuration);
+		initialize(new ControllersTest() {
+			@Override
+			public void create () {
+				super.create();
+				// shows the latency of listeners called on the UI thread next to the one of the regular listeners
+				((AndroidControllers)Controllers.getManager()).addInputThreadListener(directLatencyListener);
+			}
+		}, configuration);
 	}
 }
@@ -56,6 +56,14 @@ public class ControllersTest extends ApplicationAdapter {
     private TextButton vibrateButton;
     private Label buttonNum;
     private Label powerLevel;
+    private Label bufferedLatency;
+    private Label directLatency;
+    private final LatencyListener bufferedLatencyListener = new LatencyListener();
+    /**
+     * Launchers of backends that can call listeners on their input thread register this listener
+     * there, to compare its latency with the one of the regular listeners.
+     */
+    public final LatencyListener directLatencyListener = new LatencyListener();
 
     @Override
     public void create() {
@@ -76,6 +84,8 @@ public class ControllersTest extends ApplicationAdapter {
             }
         };
 
+        // added first, the listener below consumes the button events
+        Controllers.addListener(bufferedLatencyListener);
         Controllers.addListener(new ControllerAdapter() {
             @Override
             public void connected(final Controller controller) {
@@ -202,6 +212,16 @@ public class ControllersTest extends ApplicationAdapter {
         moreInfoTable.add("Button indices").right().padRight(10);
         moreInfoTable.add(buttonNum);
 
+        bufferedLatency = new Label("", skin);
+        moreInfoTable.row();
+        moreInfoTable.add("Latency").right().padRight(10);
+        moreInfoTable.add(bufferedLatency);
+
+        directLatency = new Label("", skin);
+        moreInfoTable.row();
+        moreInfoTable.add("Input thread latency").right().padRight(10);
+        moreInfoTable.add(directLatency);
+
         moreInfoTable.row().padTop(20);
         callbackLabel = new Label("", skin);
         moreInfoTable.add("Last callback:");
@@ -315,6 +335,8 @@ public class ControllersTest extends ApplicationAdapter {
         vibrateButton.setText(selectedController == null || !selectedController.canVibrate() ? "N/A" : selectedController.isVibrating() ? "Vibrating" : "Click to start");
         buttonNum.setText(selectedController == null ? "N/A" : selectedController.getMinButtonIndex() + " to " + selectedController.getMaxButtonIndex());
         powerLevel.setText(selectedController == null ? "N/A" : selectedController.getPowerLevel().toString());
+        bufferedLatency.setText(bufferedLatencyListener.getDescription());
+        directLatency.setText(directLatencyListener.getDescription());
 
         if (markedCurrentController != Controllers.getCurrent()) {
             refreshControllersList();
@@ -0,0 +1,50 @@
+package com.badlogic.gdx.controllers.test;
+
+import com.badlogic.gdx.controllers.Controller;
+import com.badlogic.gdx.controllers.ControllerAdapter;
+import com.badlogic.gdx.controllers.TimedControllerListener;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Measures the time from the capture of a button press to its arrival at this listener. It can be
+ * called on any thread, so it also measures listeners that backends call on their input thread.
+ */
+public class LatencyListener extends ControllerAdapter implements TimedControllerListener {
+    // only written by the thread the listener is called on
+    private volatile long lastLatencyNanos;
+    private volatile long totalLatencyNanos;
+    private volatile int presses;
+
+    @Override
+    public boolean buttonDown(Controller controller, int buttonCode, long captureNanos) {
+        long latency = TimeUtils.nanoTime() - captureNanos;
+        lastLatencyNanos = latency;
+        totalLatencyNanos += latency;
+        presses++;
+        return false;
+    }
+
+    @Override
+    public boolean buttonUp(Controller controller, int buttonCode, long captureNanos) {
+        return false;
+    }
+
+    @Override
+    public boolean axisMoved(Controller controller, int axisCode, float value, long captureNanos) {
+        return false;
+    }
+
+    /** @return the latency of the last button press and the average, or N/A if no button was pressed */
+    public String getDescription() {
+        int presses = this.presses;
+        if (presses == 0) {
+            return "N/A";
+        }
+        return toMillis(lastLatencyNanos) + " ms (avg " + toMillis(totalLatencyNanos / presses) + " ms)";
+    }
+
+    private static float toMillis(long nanos) {
+        // two decimals, String.format is not available on GWT
+        return (nanos / 10000) / 100f;
+    }
+}